@@ -1,8 +1,13 @@
 package controller;
 
+import model.DictionaryService;
 import view.Mainframe;
 
 import javax.swing.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
 
 /**
  * This class serves as the entry point for the Hangman game application.
@@ -10,11 +15,20 @@ import javax.swing.*;
 public class App {
 
     /**
-     * The main method that launches the Hangman game application.
+     * The main method that launches the Hangman game application. With {@code --headless} the game is played in the
+     * terminal and AWT is never initialised.
      *
-     * @param args command line arguments (not used)
+     * @param args command line arguments, optionally {@code --headless}
+     * @throws IOException if reading the terminal fails in headless mode
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
+        long mainStart = System.nanoTime();
+        if (Arrays.asList(args).contains("--headless")) {
+            System.setProperty("java.awt.headless", "true");
+            new ConsoleGame(new BufferedReader(new InputStreamReader(System.in)), System.out, mainStart).run();
+            return;
+        }
+        DictionaryService.startReloading();
         SwingUtilities.invokeLater(new Runnable() {
             public void run() {
                 new Mainframe();
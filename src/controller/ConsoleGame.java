@@ -0,0 +1,212 @@
+package controller;
+
+import model.DictionaryService;
+import model.GameEngine;
+import model.GameStateStore;
+import model.GuessOutcome;
+import model.TraceRecorder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This class plays hangman in a terminal, for hosts without a display. It drives the same {@link GameEngine} as the
+ * Swing game and saves the same player stats, but never touches AWT.
+ * <p>
+ * The time from the start of the JVM to the first prompt is appended to data/startup_times.csv on every start. The
+ * dictionary is loaded in the background while the player types their name.
+ */
+public class ConsoleGame {
+    private static final Path STARTUP_TIMES_FILE = Paths.get("data", "startup_times.csv");
+    private static final String[] GALLOWS = {
+            "  +---+", "  |   |", "  |   %c", "  |  %c%c%c", "  |  %c %c", "  |", "======"
+    };
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final long mainStartNanos;
+
+    /**
+     * Constructs a console game.
+     *
+     * @param in             the player's input
+     * @param out            the output shown to the player
+     * @param mainStartNanos the {@link System#nanoTime()} at which the main method was entered
+     */
+    public ConsoleGame(BufferedReader in, PrintStream out, long mainStartNanos) {
+        this.in = in;
+        this.out = out;
+        this.mainStartNanos = mainStartNanos;
+    }
+
+    /**
+     * Asks for the player and the category and plays until the player stops or loses.
+     *
+     * @throws IOException if reading the input fails
+     */
+    public void run() throws IOException {
+        Thread.startVirtualThread(DictionaryService::getWordIndex);
+        out.println("Welcome to Hangman");
+        out.println("Guess the hidden word or phrase by entering letters.");
+        out.println("Be careful, each wrong letter builds the gallows.");
+        out.print("Enter your name: ");
+        out.flush();
+        recordStartupTime();
+
+        String playerName = readLine();
+        while (playerName != null && playerName.isEmpty()) {
+            out.print("Enter your name: ");
+            out.flush();
+            playerName = readLine();
+        }
+        if (playerName == null) {
+            return;
+        }
+        String category = chooseCategory();
+        if (category == null) {
+            return;
+        }
+        DictionaryService.startReloading();
+        GameEngine engine = GameStateStore.load(playerName, category);
+        TraceRecorder traceRecorder = TraceRecorder.attachIfEnabled(engine);
+        play(engine);
+        if (traceRecorder != null) {
+            traceRecorder.close();
+        }
+        GameStateStore.save(engine);
+        GameStateStore.saveScore(engine);
+        out.println(engine.getPlayerName().toUpperCase() + ": score " + engine.getScore() + ", words guessed "
+                + engine.getWordsGuessed() + ", games played " + engine.getGamesPlayed());
+    }
+
+    private String chooseCategory() throws IOException {
+        List<String> categories = DictionaryService.getDictionary().getCategories();
+        out.println("CHOOSE A CATEGORY");
+        for (int i = 0; i < categories.size(); i++) {
+            out.println("  " + (i + 1) + ") " + categories.get(i));
+        }
+        while (true) {
+            out.print("Category [1-" + categories.size() + "]: ");
+            out.flush();
+            String line = readLine();
+            if (line == null) {
+                return null;
+            }
+            try {
+                int choice = Integer.parseInt(line);
+                if (choice >= 1 && choice <= categories.size()) {
+                    return categories.get(choice - 1);
+                }
+            } catch (NumberFormatException e) {
+                if (categories.contains(line)) {
+                    return line;
+                }
+            }
+        }
+    }
+
+    private void play(GameEngine engine) throws IOException {
+        engine.startNewGame();
+        while (true) {
+            printGame(engine);
+            out.print("Guess a letter or the word: ");
+            out.flush();
+            String input = readLine();
+            if (input == null) {
+                return;
+            }
+            if (input.isEmpty()) {
+                continue;
+            }
+            GuessOutcome outcome = engine.guess(input);
+            switch (outcome) {
+                case INVALID:
+                    out.println("Enter a valid, new letter!");
+                    break;
+                case UNKNOWN_WORD:
+                    out.println("That is not a known word!");
+                    break;
+                case WRONG_WORD:
+                    out.println("Incorrect guess!");
+                    break;
+                case WON:
+                    printGame(engine);
+                    out.println("Congratulations! You guessed the word!");
+                    out.print("Continue? [y/n]: ");
+                    out.flush();
+                    String choice = readLine();
+                    if (choice == null || !choice.toLowerCase().startsWith("y")) {
+                        return;
+                    }
+                    engine.startNewGame();
+                    break;
+                case LOST:
+                    if (input.length() != 1) {
+                        out.println("Incorrect guess!");
+                    }
+                    printGame(engine);
+                    out.println("Game over, you lost! The word was: " + engine.getWordToGuess());
+                    return;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private void printGame(GameEngine engine) {
+        int incorrectGuesses = engine.getIncorrectGuesses();
+        out.println();
+        out.println(GALLOWS[0]);
+        out.println(GALLOWS[1]);
+        out.println(String.format(GALLOWS[2], part(incorrectGuesses, 1, 'O')));
+        out.println(String.format(GALLOWS[3], part(incorrectGuesses, 3, '/'), part(incorrectGuesses, 2, '|'),
+                part(incorrectGuesses, 4, '\\')));
+        out.println(String.format(GALLOWS[4], part(incorrectGuesses, 5, '/'), part(incorrectGuesses, 6, '\\')));
+        out.println(GALLOWS[5]);
+        out.println(GALLOWS[6]);
+        out.println("Score: " + engine.getScore());
+        out.println(engine.getDisplayText());
+        out.println("Missed Letters: " + engine.getMissedLetters());
+    }
+
+    private static char part(int incorrectGuesses, int needed, char c) {
+        return incorrectGuesses >= needed ? c : ' ';
+    }
+
+    private String readLine() throws IOException {
+        String line = in.readLine();
+        return line == null ? null : line.trim();
+    }
+
+    /**
+     * Appends the time it took to show the first prompt, measured both from the start of the JVM and from the start
+     * of the main method.
+     */
+    private void recordStartupTime() {
+        long promptNanos = System.nanoTime();
+        long mainMillis = (promptNanos - mainStartNanos) / 1_000_000;
+        // Upravljački razred se učitava tek nakon ispisa, pa ne ulazi u izmjereno vrijeme
+        long jvmMillis = ManagementFactory.getRuntimeMXBean().getUptime()
+                - (System.nanoTime() - promptNanos) / 1_000_000;
+        try {
+            if (!Files.exists(STARTUP_TIMES_FILE)) {
+                Files.createDirectories(STARTUP_TIMES_FILE.getParent());
+                Files.writeString(STARTUP_TIMES_FILE, "time,mode,jvm_to_prompt_ms,main_to_prompt_ms\n",
+                        StandardCharsets.UTF_8);
+            }
+            Files.writeString(STARTUP_TIMES_FILE, Instant.now() + ",headless," + jvmMillis + "," + mainMillis + "\n",
+                    StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package controller;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * This class handles the event of pressing the hint button. It sets a listener and forwards the event to the appropriate listener.
+ */
+public class HintButtonAction implements ActionListener {
+    private HintButtonActionListener listener;
+
+    /**
+     * Sets the HintButtonActionListener.
+     *
+     * @param listener the listener to be set for the hint button action
+     */
+    public void setHintButtonActionListener(HintButtonActionListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Invoked when an action occurs. If a listener is set, it forwards the action event to the listener.
+     *
+     * @param e the event to be processed
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (listener != null) {
+            listener.hintButtonActionPerformed(new HintButtonActionEvent(this));
+        }
+    }
+}
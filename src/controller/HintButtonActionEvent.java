@@ -0,0 +1,21 @@
+package controller;
+
+import java.util.EventObject;
+
+/**
+ * This class represents an event for the hint button action.
+ * It extends the EventObject class and passes the source object to the superclass constructor.
+ */
+public class HintButtonActionEvent extends EventObject {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a HintButtonActionEvent.
+     *
+     * @param source the object on which the Event initially occurred
+     * @throws IllegalArgumentException if source is null
+     */
+    public HintButtonActionEvent(Object source) {
+        super(source);
+    }
+}
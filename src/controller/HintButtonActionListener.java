@@ -0,0 +1,16 @@
+package controller;
+
+import java.util.EventListener;
+
+/**
+ * This interface should be implemented by any class that wants to handle the hint button action events.
+ */
+public interface HintButtonActionListener extends EventListener {
+
+    /**
+     * Invoked when a hint button action event occurs.
+     *
+     * @param event the HintButtonActionEvent containing information about the event
+     */
+    void hintButtonActionPerformed(HintButtonActionEvent event);
+}
@@ -0,0 +1,130 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class keeps the best players of one category in a small sorted array, from the highest category score down and
+ * then by name. A changed score is moved within the array in place, so reading the board never scans the players.
+ * <p>
+ * The array always holds the best players of the category, up to its capacity. The only change it cannot follow on its
+ * own is a player on a full board dropping below the last entry, because the player who should take the free place is
+ * not on the board; {@link #update} reports that case and the owner refills the board with {@link #rebuild}.
+ * {@link WindowedLeaderboard} keeps the best players of a time window on such a board as well.
+ */
+public class CategoryLeaderboard {
+    private final String category;
+    private final LeaderboardEntry[] entries;
+    private int size;
+
+    /**
+     * Constructs an empty leaderboard.
+     *
+     * @param category the category the board ranks
+     * @param capacity the number of players kept
+     */
+    public CategoryLeaderboard(String category, int capacity) {
+        this.category = category;
+        this.entries = new LeaderboardEntry[capacity];
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Records the category score of a player.
+     *
+     * @param playerName the name of the player
+     * @param score      the player's score in the category
+     * @return false if the player fell off a full board and the board has to be rebuilt, true otherwise
+     */
+    public boolean update(String playerName, int score) {
+        LeaderboardEntry entry = new LeaderboardEntry(playerName, score);
+        LeaderboardEntry last = size == entries.length ? entries[size - 1] : null;
+        boolean removed = remove(playerName);
+        if (size < entries.length) {
+            if (removed && last != null && entry.compareTo(last) > 0) {
+                // Mjesto je slobodno, ali najbolji igrač izvan ploče nije poznat
+                return false;
+            }
+            insert(entry);
+        } else if (entry.compareTo(entries[size - 1]) < 0) {
+            size--;
+            insert(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Refills the board from the category scores of every player.
+     *
+     * @param players the stats of every player
+     */
+    public void rebuild(Iterable<PlayerStats> players) {
+        Arrays.fill(entries, null);
+        size = 0;
+        for (PlayerStats stats : players) {
+            Integer score = stats.getCategoryScores().get(category);
+            if (score != null) {
+                update(stats.getPlayerName(), score);
+            }
+        }
+    }
+
+    /**
+     * Refills the board from a map of scores.
+     *
+     * @param scores the score of every player, by name
+     */
+    public void rebuild(Map<String, Integer> scores) {
+        Arrays.fill(entries, null);
+        size = 0;
+        for (Map.Entry<String, Integer> score : scores.entrySet()) {
+            update(score.getKey(), score.getValue());
+        }
+    }
+
+    /**
+     * Takes a player off the board.
+     *
+     * @param playerName the name of the player
+     * @return false if the player left a full board and the board has to be rebuilt, true otherwise
+     */
+    public boolean removePlayer(String playerName) {
+        boolean full = size == entries.length;
+        return !(remove(playerName) && full);
+    }
+
+    /**
+     * Gets the players on the board.
+     *
+     * @return a new list of the entries, from the highest category score down
+     */
+    public List<LeaderboardEntry> getEntries() {
+        return new ArrayList<>(Arrays.asList(entries).subList(0, size));
+    }
+
+    private boolean remove(String playerName) {
+        for (int i = 0; i < size; i++) {
+            if (entries[i].getPlayerName().equals(playerName)) {
+                System.arraycopy(entries, i + 1, entries, i, size - i - 1);
+                entries[--size] = null;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insert(LeaderboardEntry entry) {
+        int i = size;
+        while (i > 0 && entry.compareTo(entries[i - 1]) < 0) {
+            entries[i] = entries[i - 1];
+            i--;
+        }
+        entries[i] = entry;
+        size++;
+    }
+}
@@ -0,0 +1,113 @@
+package model;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class reads a dictionary compiled by {@link DictionaryCompiler}. Only the header is kept in memory; every
+ * word is read on demand with two positional reads, one from the offset table of its category and one from the data
+ * section, so picking a random word does not depend on the size of the word list.
+ */
+public class CompiledDictionary implements DictionaryInterface, Closeable {
+    private final FileChannel channel;
+    private final long version;
+    private final List<String> categories;
+    private final Map<String, Integer> categoryIndex = new HashMap<>();
+    private final int[] wordCounts;
+    private final long[] tablePositions;
+
+    /**
+     * Opens a compiled dictionary and reads its header.
+     *
+     * @param path the path of the compiled file
+     * @throws IOException if the file cannot be read or is not a compiled dictionary
+     */
+    public CompiledDictionary(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, 4 + 4 + 8 + 4);
+            if (header.getInt() != DictionaryCompiler.MAGIC || header.getInt() != DictionaryCompiler.FORMAT_VERSION) {
+                throw new IOException("Not a compiled dictionary: " + path);
+            }
+            version = header.getLong();
+            int categoryCount = header.getInt();
+            List<String> names = new ArrayList<>(categoryCount);
+            wordCounts = new int[categoryCount];
+            tablePositions = new long[categoryCount];
+            long position = header.capacity();
+            for (int i = 0; i < categoryCount; i++) {
+                int nameLength = read(position, 2).getShort() & 0xFFFF;
+                ByteBuffer entry = read(position + 2, nameLength + 4 + 8);
+                byte[] name = new byte[nameLength];
+                entry.get(name);
+                names.add(new String(name, StandardCharsets.UTF_8));
+                categoryIndex.put(names.get(i), i);
+                wordCounts[i] = entry.getInt();
+                tablePositions[i] = entry.getLong();
+                position += 2 + nameLength + 4 + 8;
+            }
+            categories = List.copyOf(names);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    @Override
+    public int getWordCount(String category) {
+        Integer index = categoryIndex.get(category);
+        return index == null ? 0 : wordCounts[index];
+    }
+
+    @Override
+    public String getWord(String category, int wordId) {
+        Integer index = categoryIndex.get(category);
+        if (index == null || wordId < 0 || wordId >= wordCounts[index]) {
+            throw new IndexOutOfBoundsException("No word " + wordId + " in category " + category);
+        }
+        try {
+            ByteBuffer entry = read(tablePositions[index] + (long) wordId * DictionaryCompiler.ENTRY_SIZE,
+                    DictionaryCompiler.ENTRY_SIZE);
+            long position = entry.getLong();
+            ByteBuffer word = read(position, entry.getInt());
+            return new String(word.array(), 0, word.limit(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read word " + wordId + " of category " + category, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
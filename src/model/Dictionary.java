@@ -0,0 +1,116 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * This class is an immutable in-memory dictionary parsed from a word list in the {@code [Category]} format.
+ * Blank lines are skipped, so only real words are stored.
+ */
+public class Dictionary implements DictionaryInterface {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long version;
+    private final List<String> categories;
+    private final Map<String, List<String>> wordsByCategory;
+
+    /**
+     * Constructs a dictionary from a map of categories to their words. The map and the lists are copied.
+     *
+     * @param wordsByCategory the words of every category, in iteration order
+     */
+    public Dictionary(Map<String, List<String>> wordsByCategory) {
+        Map<String, List<String>> copy = new LinkedHashMap<>();
+        long hash = FNV_OFFSET;
+        for (Map.Entry<String, List<String>> entry : wordsByCategory.entrySet()) {
+            List<String> words = List.copyOf(entry.getValue());
+            copy.put(entry.getKey(), words);
+            hash = hash(hash, '[' + entry.getKey() + ']');
+            for (String word : words) {
+                hash = hash(hash, word);
+            }
+        }
+        this.wordsByCategory = Collections.unmodifiableMap(copy);
+        this.categories = List.copyOf(copy.keySet());
+        this.version = hash;
+    }
+
+    private static long hash(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ '\n') * FNV_PRIME;
+    }
+
+    /**
+     * Loads a dictionary from a word list file. If the file cannot be read, the dictionary is empty.
+     *
+     * @param path the path of the word list
+     * @return the loaded dictionary
+     */
+    public static Dictionary load(Path path) {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new Dictionary(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Parses a word list in the {@code [Category]} format. Words before the first category are ignored.
+     *
+     * @param reader the source of the word list
+     * @return the parsed dictionary
+     * @throws IOException if reading fails
+     */
+    public static Dictionary parse(Reader reader) throws IOException {
+        BufferedReader br = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        Map<String, List<String>> wordsByCategory = new LinkedHashMap<>();
+        List<String> words = null;
+        String line;
+        while ((line = br.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                words = wordsByCategory.computeIfAbsent(line.substring(1, line.length() - 1), k -> new ArrayList<>());
+            } else if (words != null) {
+                words.add(line);
+            }
+        }
+        return new Dictionary(wordsByCategory);
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    @Override
+    public int getWordCount(String category) {
+        List<String> words = wordsByCategory.get(category);
+        return words == null ? 0 : words.size();
+    }
+
+    @Override
+    public String getWord(String category, int wordId) {
+        List<String> words = wordsByCategory.get(category);
+        if (words == null) {
+            throw new IndexOutOfBoundsException("Unknown category: " + category);
+        }
+        return words.get(wordId);
+    }
+}
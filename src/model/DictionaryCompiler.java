@@ -0,0 +1,124 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+/**
+ * This class compiles a dictionary into the binary indexed format read by {@link CompiledDictionary}.
+ * <p>
+ * The file starts with a header that holds the dictionary version and, for every category, its name, word count and
+ * the position of its offset table. Each offset table has one fixed-size entry per word with the position and the
+ * length of the word in the data section, which holds the words as UTF-8 bytes.
+ */
+public final class DictionaryCompiler {
+    static final int MAGIC = 0x48414E47;
+    static final int FORMAT_VERSION = 1;
+    static final int ENTRY_SIZE = Long.BYTES + Integer.BYTES;
+
+    private DictionaryCompiler() {
+    }
+
+    /**
+     * Compiles a dictionary into a file. The file is written next to the target and then moved into place, so readers
+     * never see a partly written file.
+     *
+     * @param dictionary the dictionary to compile
+     * @param target     the path of the compiled file
+     * @throws IOException if writing fails
+     */
+    public static void compile(DictionaryInterface dictionary, Path target) throws IOException {
+        List<String> categories = dictionary.getCategories();
+        byte[][] names = new byte[categories.size()][];
+        long headerSize = 4 + 4 + 8 + 4;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = categories.get(i).getBytes(StandardCharsets.UTF_8);
+            headerSize += 2 + names[i].length + 4 + 8;
+        }
+
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(dictionary.getVersion());
+                out.writeInt(names.length);
+                long tablePosition = headerSize;
+                for (int i = 0; i < names.length; i++) {
+                    int wordCount = dictionary.getWordCount(categories.get(i));
+                    out.writeShort(names[i].length);
+                    out.write(names[i]);
+                    out.writeInt(wordCount);
+                    out.writeLong(tablePosition);
+                    tablePosition += (long) wordCount * ENTRY_SIZE;
+                }
+
+                long dataPosition = tablePosition;
+                for (String category : categories) {
+                    int wordCount = dictionary.getWordCount(category);
+                    for (int id = 0; id < wordCount; id++) {
+                        int length = utf8Length(dictionary.getWord(category, id));
+                        out.writeLong(dataPosition);
+                        out.writeInt(length);
+                        dataPosition += length;
+                    }
+                }
+
+                for (String category : categories) {
+                    writeWords(dictionary, category, out);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeWords(DictionaryInterface dictionary, String category, OutputStream out) throws IOException {
+        int wordCount = dictionary.getWordCount(category);
+        for (int id = 0; id < wordCount; id++) {
+            out.write(dictionary.getWord(category, id).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static int utf8Length(String word) {
+        int length = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Compiles a word list from the command line.
+     *
+     * @param args the source word list and the target file, by default data/words and data/words.idx
+     * @throws IOException if reading or writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        Path source = Paths.get(args.length > 0 ? args[0] : "data/words");
+        Path target = Paths.get(args.length > 1 ? args[1] : "data/words.idx");
+        long start = System.nanoTime();
+        Dictionary dictionary = Dictionary.load(source);
+        compile(dictionary, target);
+        System.out.printf("Compiled %d categories into %s in %d ms%n", dictionary.getCategories().size(), target,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
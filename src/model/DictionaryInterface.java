@@ -0,0 +1,43 @@
+package model;
+
+import java.util.List;
+
+/**
+ * This interface defines read-only access to the words of the game, grouped by category.
+ * Words are addressed by their id, which is their position within the category.
+ */
+public interface DictionaryInterface {
+
+    /**
+     * Gets the version of the dictionary. The version is derived from the contents, so the same word list always has
+     * the same version and a saved word id can be resolved only against the dictionary it came from.
+     *
+     * @return the dictionary version
+     */
+    long getVersion();
+
+    /**
+     * Gets the names of all categories, in the order they appear in the word list.
+     *
+     * @return an unmodifiable list of category names
+     */
+    List<String> getCategories();
+
+    /**
+     * Gets the number of words in a category.
+     *
+     * @param category the category name
+     * @return the number of words, or 0 if the category does not exist
+     */
+    int getWordCount(String category);
+
+    /**
+     * Gets a word by its id.
+     *
+     * @param category the category name
+     * @param wordId   the id of the word within the category
+     * @return the word
+     * @throws IndexOutOfBoundsException if the category has no word with the given id
+     */
+    String getWord(String category, int wordId);
+}
@@ -0,0 +1,17 @@
+package model;
+
+import java.util.EventListener;
+
+/**
+ * This interface should be implemented by any class that wants to know when the shared dictionary is replaced.
+ */
+public interface DictionaryListener extends EventListener {
+
+    /**
+     * Invoked after a new dictionary has been published. The method is called on the thread that reloaded the
+     * dictionary, so Swing components must be updated through the event dispatch thread.
+     *
+     * @param dictionary the new dictionary
+     */
+    void dictionaryChanged(DictionaryInterface dictionary);
+}
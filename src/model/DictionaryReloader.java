@@ -0,0 +1,92 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class watches the word list file and reloads the shared dictionary on a background thread whenever the file is
+ * created or modified. Bursts of events, such as an editor writing the file in several steps, are merged into a
+ * single reload. The watching runs on a daemon thread started by {@link #start()}.
+ */
+public class DictionaryReloader implements Runnable {
+    private static final long SETTLE_MILLIS = 250;
+
+    private final Path file;
+    private Thread thread;
+
+    /**
+     * Constructs a reloader for a word list file.
+     *
+     * @param file the file to watch
+     */
+    public DictionaryReloader(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * Starts watching on a new daemon thread. Calling the method again has no effect.
+     */
+    public synchronized void start() {
+        if (thread == null) {
+            thread = new Thread(this, "dictionary-reloader");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stops watching.
+     */
+    public synchronized void stop() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = isWordFileEvent(key);
+                // Pričekaj da se datoteka do kraja zapiše
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= isWordFileEvent(next);
+                }
+                if (changed) {
+                    try {
+                        DictionaryService.reload();
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Zaustavljanje niti
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private boolean isWordFileEvent(WatchKey key) {
+        boolean matches = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(context)) {
+                matches = true;
+            }
+        }
+        key.reset();
+        return matches;
+    }
+}
@@ -0,0 +1,263 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * This class gives the whole application access to one shared dictionary. The word list is loaded the first time it
+ * is needed and is then used read-only by the main menu and by every game.
+ * <p>
+ * The dictionary is served from the compiled file data/words.idx, which is regenerated from data/words whenever the
+ * word list is newer, so words are read from disk on demand instead of being kept in memory. Setting the system
+ * property {@code hangman.dictionary} to {@code trie} keeps the words in memory in a compact {@link TrieDictionary}
+ * instead, and {@code memory} uses a plain {@link Dictionary}.
+ * <p>
+ * If the directory data/words.d exists, the word lists in it are merged with data/words by a
+ * {@link WordListIngester}, which parses them in parallel and removes duplicate words.
+ * <p>
+ * The dictionary and its word index are published together as one immutable snapshot. {@link #reload()} builds a new
+ * snapshot and swaps it in, so readers never block and a game that already picked its word keeps it.
+ */
+public final class DictionaryService {
+    private static final Path WORDS_FILE = Paths.get("data", "words");
+    private static final Path COMPILED_FILE = Paths.get("data", "words.idx");
+    private static final Path WORD_LISTS_DIRECTORY = Paths.get("data", "words.d");
+    private static final String STORE_PROPERTY = "hangman.dictionary";
+    private static final long RETIRE_DELAY_SECONDS = 60;
+
+    private static final List<DictionaryListener> listeners = new CopyOnWriteArrayList<>();
+    private static final Object derivedLock = new Object();
+    private static volatile WordIndex snapshot;
+    private static volatile WordLexicon lexicon;
+    private static volatile boolean lexiconWanted;
+    private static DictionaryInterface lexiconTarget;
+    private static CompletableFuture<WordLexicon> lexiconBuild;
+    private static volatile HangmanSolver solver;
+    private static DictionaryReloader reloader;
+
+    private DictionaryService() {
+    }
+
+    /**
+     * Gets the shared dictionary, loading it on first use.
+     *
+     * @return the dictionary
+     */
+    public static DictionaryInterface getDictionary() {
+        return getWordIndex().getDictionary();
+    }
+
+    /**
+     * Gets the word index over the shared dictionary. Callers that need both should take the dictionary from the
+     * index, so that they see the same snapshot even if a reload happens in between.
+     *
+     * @return the word index
+     */
+    public static WordIndex getWordIndex() {
+        WordIndex current = snapshot;
+        if (current == null) {
+            synchronized (DictionaryService.class) {
+                if (snapshot == null) {
+                    snapshot = new WordIndex(loadDictionary(false));
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets the lexicon of the shared dictionary, used to check whether a guess is a real word. Building a lexicon reads
+     * every word of the dictionary, so it is built in the background: the first call starts building it, and so does
+     * every reload once a lexicon has been asked for.
+     *
+     * @return the lexicon, or null while it is being built
+     */
+    public static WordLexicon getLexicon() {
+        WordLexicon current = lexicon;
+        if (current != null && current.getDictionary() == getDictionary()) {
+            return current;
+        }
+        prepareLexicon();
+        return null;
+    }
+
+    /**
+     * Starts building the lexicon of the shared dictionary in the background, unless it is built or being built
+     * already.
+     *
+     * @return the lexicon once it is built
+     */
+    public static CompletableFuture<WordLexicon> prepareLexicon() {
+        DictionaryInterface dictionary = getDictionary();
+        synchronized (derivedLock) {
+            lexiconWanted = true;
+            if (lexicon != null && lexicon.getDictionary() == dictionary) {
+                return CompletableFuture.completedFuture(lexicon);
+            }
+            if (lexiconTarget != dictionary) {
+                lexiconTarget = dictionary;
+                lexiconBuild = CompletableFuture.supplyAsync(() -> {
+                    WordLexicon built = new WordLexicon(dictionary);
+                    synchronized (derivedLock) {
+                        // Leksikon starog rječnika se odbacuje ako je u međuvremenu stigao novi
+                        if (lexiconTarget == dictionary) {
+                            lexicon = built;
+                            lexiconTarget = null;
+                        }
+                    }
+                    return built;
+                });
+                lexiconBuild.exceptionally(t -> {
+                    t.printStackTrace();
+                    synchronized (derivedLock) {
+                        if (lexiconTarget == dictionary) {
+                            lexiconTarget = null;
+                        }
+                    }
+                    return null;
+                });
+            }
+            return lexiconBuild;
+        }
+    }
+
+    /**
+     * Gets the solver of the shared dictionary, used for hints and bot players. A new solver is made after each reload.
+     *
+     * @return the solver
+     */
+    public static HangmanSolver getSolver() {
+        DictionaryInterface dictionary = getDictionary();
+        HangmanSolver current = solver;
+        if (current == null || current.getDictionary() != dictionary) {
+            synchronized (derivedLock) {
+                if (solver == null || solver.getDictionary() != dictionary) {
+                    solver = new HangmanSolver(dictionary);
+                }
+                current = solver;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Parses the word list again and publishes it as the new shared dictionary. The previous dictionary stays usable
+     * for a while, so readers that are still holding it can finish.
+     */
+    public static void reload() {
+        WordIndex previous;
+        WordIndex next;
+        synchronized (DictionaryService.class) {
+            previous = snapshot;
+            next = new WordIndex(loadDictionary(true));
+            snapshot = next;
+        }
+        if (previous != null && previous.getDictionary() instanceof Closeable) {
+            Closeable closeable = (Closeable) previous.getDictionary();
+            CompletableFuture.delayedExecutor(RETIRE_DELAY_SECONDS, TimeUnit.SECONDS).execute(() -> {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+        if (lexiconWanted) {
+            prepareLexicon();
+        }
+        for (DictionaryListener listener : listeners) {
+            listener.dictionaryChanged(next.getDictionary());
+        }
+    }
+
+    /**
+     * Starts watching the word list and reloading it in the background whenever it changes. Calling the method again
+     * has no effect.
+     */
+    public static synchronized void startReloading() {
+        if (reloader == null) {
+            reloader = new DictionaryReloader(WORDS_FILE);
+            reloader.start();
+        }
+    }
+
+    public static void addDictionaryListener(DictionaryListener listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeDictionaryListener(DictionaryListener listener) {
+        listeners.remove(listener);
+    }
+
+    private static DictionaryInterface loadDictionary(boolean forceCompile) {
+        String store = System.getProperty(STORE_PROPERTY, "compiled");
+        if (store.equals("trie")) {
+            return new TrieDictionary(loadWordLists());
+        }
+        if (store.equals("memory")) {
+            return loadWordLists();
+        }
+        try {
+            if (forceCompile || isCompiledFileStale()) {
+                DictionaryCompiler.compile(loadWordLists(), COMPILED_FILE);
+            }
+            return new CompiledDictionary(COMPILED_FILE);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return loadWordLists();
+        }
+    }
+
+    private static Dictionary loadWordLists() {
+        if (!Files.isDirectory(WORD_LISTS_DIRECTORY)) {
+            return Dictionary.load(WORDS_FILE);
+        }
+        List<Path> files = new ArrayList<>();
+        if (Files.exists(WORDS_FILE)) {
+            files.add(WORDS_FILE);
+        }
+        try (Stream<Path> lists = Files.list(WORD_LISTS_DIRECTORY)) {
+            lists.filter(Files::isRegularFile).sorted().forEach(files::add);
+            return new WordListIngester().ingest(files);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Dictionary.load(WORDS_FILE);
+        }
+    }
+
+    private static boolean isCompiledFileStale() throws IOException {
+        if (!Files.exists(COMPILED_FILE)) {
+            return true;
+        }
+        FileTime compiled = Files.getLastModifiedTime(COMPILED_FILE);
+        if (Files.exists(WORDS_FILE) && Files.getLastModifiedTime(WORDS_FILE).compareTo(compiled) > 0) {
+            return true;
+        }
+        if (!Files.isDirectory(WORD_LISTS_DIRECTORY)) {
+            return false;
+        }
+        try (Stream<Path> lists = Files.list(WORD_LISTS_DIRECTORY)) {
+            return Files.getLastModifiedTime(WORD_LISTS_DIRECTORY).compareTo(compiled) > 0
+                    || lists.anyMatch(file -> isNewer(file, compiled));
+        }
+    }
+
+    private static boolean isNewer(Path file, FileTime time) {
+        try {
+            return Files.getLastModifiedTime(file).compareTo(time) > 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
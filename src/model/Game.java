@@ -7,112 +7,56 @@ import view.ViewPanel;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.*;
-import java.util.*;
-import java.util.List;
+import java.io.IOException;
 
-public class Game implements GuessButtonActionListener, NewGameButtonActionListener, Serializable {
-    private static final long serialVersionUID = 1L;
-
-    private transient GamePanelInterface gameUI;
-    private List<Character> triedLettersList = new ArrayList<>();
-    private int incorrectGuesses = 0;
-    private String playerName;
-    private int score = 0;
-    private int wordsGuessed = 0;
-    private int gamesPlayed = 0;
-    private Map<String, List<String>> categoriesMap = new HashMap<>();
-    private Map<String, Integer> categoryScores = new HashMap<>();
-    private String category;
-    private String wordToGuess;
+public class Game implements GuessButtonActionListener, NewGameButtonActionListener, HintButtonActionListener {
+    private final GameEngine engine;
+    private final TraceRecorder traceRecorder;
+    private GamePanelInterface gameUI;
 
     public Game(String playerName, String category) {
-        this.playerName = playerName;
-        this.category = category;
-        loadWordsFromFile();
-        loadGameState();
-        gameUI = new GamePanel(this);
+        engine = GameStateStore.load(playerName, category);
+        traceRecorder = TraceRecorder.attachIfEnabled(engine);
+        GamePanel panel = new GamePanel(this);
+        engine.addGameEngineListener(panel);
+        gameUI = panel;
         startNewGame();
     }
 
     public void startNewGame() {
-        triedLettersList.clear();
-        incorrectGuesses = 0;
-        List<String> words = categoriesMap.get(category);
-        if (words != null && !words.isEmpty()) {
-            int randomIndex = new Random().nextInt(words.size());
-            wordToGuess = words.get(randomIndex).toUpperCase();
-        } else {
-            wordToGuess = "EXAMPLE";
-        }
-        gameUI.updateWordDisplay(generateWordDisplay());
-        updateMissedLetters();
-        gameUI.updateGallows();
-        gamesPlayed++;
+        engine.startNewGame();
         gameUI.clearLetterInput();
     }
 
     public void handleGuess() {
-        String input = gameUI.getLetterInput().toUpperCase();
-        if (input.length() == 1) {
-            char letter = input.charAt(0);
-            if (triedLettersList.contains(letter) || !Character.isLetter(letter)) {
+        String input = gameUI.getLetterInput();
+        GuessOutcome outcome = engine.guess(input);
+        switch (outcome) {
+            case INVALID:
                 JOptionPane.showMessageDialog(gameUI.getFrame(), "Enter a valid, new letter!");
+                break;
+            case UNKNOWN_WORD:
+                JOptionPane.showMessageDialog(gameUI.getFrame(), "That is not a known word!");
+                break;
+            case WRONG_WORD:
+                JOptionPane.showMessageDialog(gameUI.getFrame(), "Incorrect guess!");
+                break;
+            case WON:
                 gameUI.clearLetterInput();
+                continueOrEndGame(true);
                 return;
-            }
-            triedLettersList.add(letter);
-            if (wordToGuess.contains(String.valueOf(letter))) {
-                gameUI.updateWordDisplay(generateWordDisplay());
-                if (gameUI.getWordDisplay().replace(" ", "").equals(wordToGuess)) {
-                    score += 10;
-                    wordsGuessed++;
-                    categoryScores.put(category, categoryScores.getOrDefault(category, 0) + 10);
-                    updateScoreLabel();
-                    gameUI.clearLetterInput();
-                    continueOrEndGame(true);
-                    return;
+            case LOST:
+                if (input.length() != 1) {
+                    JOptionPane.showMessageDialog(gameUI.getFrame(), "Incorrect guess!");
                 }
-            } else {
-                incorrectGuesses++;
-                updateMissedLetters();
-                gameUI.updateGallows();
-            }
-        } else {
-            if (input.equals(wordToGuess)) {
-                gameUI.updateWordDisplay(wordToGuess);
-                score += 10;
-                wordsGuessed++;
-                categoryScores.put(category, categoryScores.getOrDefault(category, 0) + 10);
-                updateScoreLabel();
-                continueOrEndGame(true);
+                gameUI.clearLetterInput();
+                JOptionPane.showMessageDialog(gameUI.getFrame(), "Game over, you lost! The word was: " + engine.getWordToGuess());
+                endGame();
                 return;
-            } else {
-                incorrectGuesses++;
-                JOptionPane.showMessageDialog(gameUI.getFrame(), "Incorrect guess!");
-                gameUI.updateGallows();
-            }
+            default:
+                break;
         }
         gameUI.clearLetterInput();
-        updateScoreLabel();
-        if (incorrectGuesses >= 6) {
-            JOptionPane.showMessageDialog(gameUI.getFrame(), "Game over, you lost! The word was: " + wordToGuess);
-            saveScore();
-            endGame();
-        }
-    }
-
-    private void updateMissedLetters() {
-        StringBuilder missedLetters = new StringBuilder();
-        for (char letter : triedLettersList) {
-            if (!wordToGuess.contains(String.valueOf(letter))) {
-                missedLetters.append(letter).append(", ");
-            }
-        }
-        if (missedLetters.length() > 0) {
-            missedLetters.setLength(missedLetters.length() - 2); // Uklanjanje posljednjeg zareza i razmaka
-        }
-        gameUI.updateMissedLetters(missedLetters.toString());
     }
 
     private void continueOrEndGame(boolean guessedWord) {
@@ -124,28 +68,25 @@ public class Game implements GuessButtonActionListener, NewGameButtonActionListe
                 return;
             }
         }
-        saveScore();
         endGame();
     }
 
-    private String generateWordDisplay() {
-        if (wordToGuess == null) {
-            return "";
+    /**
+     * Puts the letter suggested by the solver into the guess field, without guessing it.
+     */
+    public void showHint() {
+        GuessState state = engine.getGuessState();
+        if (state == null || engine.isGameOver()) {
+            return;
         }
-        StringBuilder display = new StringBuilder();
-        for (char c : wordToGuess.toCharArray()) {
-            if (c == ' ') {
-                display.append("    ");
-            } else if (triedLettersList.contains(c)) {
-                display.append(c).append(" ");
-            } else {
-                display.append("_ ");
-            }
+        char letter = DictionaryService.getSolver().suggest(engine.getCategory(), state);
+        if (letter != 0) {
+            gameUI.setLetterInput(String.valueOf(letter));
         }
-        return display.toString();
     }
 
     public void drawGallows(Graphics g) {
+        int incorrectGuesses = engine.getIncorrectGuesses();
         g.setColor(Color.BLACK);
         g.drawLine(0, 0, 0, 200);
         g.drawLine(0, 0, 100, 0);
@@ -171,81 +112,26 @@ public class Game implements GuessButtonActionListener, NewGameButtonActionListe
         }
     }
 
-    private void updateScoreLabel() {
-        gameUI.updateScoreLabel();
-    }
-
-    private void loadWordsFromFile() {
-        String currentCategory = "";
-        try (BufferedReader br = new BufferedReader(new FileReader("data/words"))) {
-            String line;
-            List<String> words = new ArrayList<>();
-            while ((line = br.readLine()) != null) {
-                if (line.startsWith("[")) {
-                    if (!words.isEmpty()) {
-                        categoriesMap.put(currentCategory, new ArrayList<>(words));
-                    }
-                    currentCategory = line.substring(1, line.length() - 1);
-                    words.clear();
-                } else {
-                    words.add(line);
-                }
-            }
-            if (!words.isEmpty()) {
-                categoriesMap.put(currentCategory, new ArrayList<>(words));
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
     private void endGame() {
-        saveGameState();
+        GameStateStore.save(engine);
         saveScore();
+        closeTrace();
         gameUI.getFrame().dispose();
         new ViewPanel(this, false).setVisible(true);
     }
 
-    public void saveScore() {
-        HighscoreManager highscoreManager = new HighscoreManager();
-        highscoreManager.savePlayerStats(playerName, score, wordsGuessed, gamesPlayed, categoryScores, category);
-    }
-
-    private void saveGameState() {
-        File directory = new File("data");
-        if (!directory.exists()) {
-            directory.mkdir();
-        }
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(getSaveFileName()))) {
-            oos.writeObject(this);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    private void loadGameState() {
-        String saveFileName = getSaveFileName();
-        File file = new File(saveFileName);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(saveFileName))) {
-                Game loadedGame = (Game) ois.readObject();
-                this.triedLettersList = loadedGame.triedLettersList;
-                this.incorrectGuesses = loadedGame.incorrectGuesses;
-                this.wordToGuess = loadedGame.wordToGuess;
-                this.score = loadedGame.score;
-                this.wordsGuessed = loadedGame.wordsGuessed;
-                this.gamesPlayed = loadedGame.gamesPlayed;
-                this.categoriesMap = loadedGame.categoriesMap;
-                this.categoryScores = loadedGame.categoryScores;
-                this.category = loadedGame.category;
-            } catch (IOException | ClassNotFoundException e) {
+    private void closeTrace() {
+        if (traceRecorder != null) {
+            try {
+                traceRecorder.close();
+            } catch (IOException e) {
                 e.printStackTrace();
             }
         }
     }
 
-    private String getSaveFileName() {
-        return "data/" + playerName + "_game.ser";
+    public void saveScore() {
+        GameStateStore.saveScore(engine);
     }
 
     public void showAllPlayersStats() {
@@ -260,12 +146,43 @@ public class Game implements GuessButtonActionListener, NewGameButtonActionListe
         gameUI.getFrame().setVisible(visible);
     }
 
+    /**
+     * Gets the engine with the rules and the state of this game.
+     *
+     * @return the game engine
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Sets which words may be chosen from the category in the next games.
+     *
+     * @param wordCriteria the criteria, or {@link WordCriteria#ANY} to allow every word
+     */
+    public void setWordCriteria(WordCriteria wordCriteria) {
+        engine.setWordCriteria(wordCriteria);
+    }
+
+    /**
+     * Sets whether full-word guesses that are not in the dictionary are rejected without costing a life.
+     *
+     * @param rejectUnknownWords true to reject unknown words
+     */
+    public void setRejectUnknownWords(boolean rejectUnknownWords) {
+        engine.setRejectUnknownWords(rejectUnknownWords);
+    }
+
+    public boolean isRejectUnknownWords() {
+        return engine.isRejectUnknownWords();
+    }
+
     public String getPlayerName() {
-        return playerName;
+        return engine.getPlayerName();
     }
 
     public int getScore() {
-        return score;
+        return engine.getScore();
     }
 
     @Override
@@ -277,4 +194,9 @@ public class Game implements GuessButtonActionListener, NewGameButtonActionListe
     public void newGameButtonActionPerformed(NewGameButtonActionEvent event) {
         startNewGame();
     }
+
+    @Override
+    public void hintButtonActionPerformed(HintButtonActionEvent event) {
+        showHint();
+    }
 }
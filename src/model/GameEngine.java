@@ -0,0 +1,350 @@
+package model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class holds the rules and the state of a hangman game for one player, without any user interface. Guesses are
+ * passed in as arguments and every guess returns a {@link GuessOutcome}; listeners are told about each change, so a
+ * Swing panel, a network session or a simulation can all drive the same engine.
+ * <p>
+ * A player scores {@value #POINTS_PER_WORD} points for every guessed word and loses a game after
+ * {@value #MAX_INCORRECT_GUESSES} wrong guesses.
+ */
+public class GameEngine implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int POINTS_PER_WORD = 10;
+    public static final int MAX_INCORRECT_GUESSES = 6;
+    private static final String FALLBACK_WORD = "EXAMPLE";
+
+    private final String playerName;
+    private String category;
+    private int score;
+    private int wordsGuessed;
+    private int gamesPlayed;
+    private HashMap<String, Integer> categoryScores = new HashMap<>();
+    private int incorrectGuesses;
+    private long dictionaryVersion;
+    private int wordId = -1;
+    private String triedLetters = "";
+    private WordCriteria wordCriteria = WordCriteria.ANY;
+    private HashMap<String, WordSampler> wordSamplers = new HashMap<>();
+    private boolean rejectUnknownWords;
+    private boolean gameOver = true;
+    private String wordToGuess;
+
+    private transient GuessState guessState;
+    private transient List<GameEngineListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs an engine for a player. No word is chosen until {@link #startNewGame()} is called.
+     *
+     * @param playerName the name of the player
+     * @param category   the category to choose words from
+     */
+    public GameEngine(String playerName, String category) {
+        this.playerName = playerName;
+        this.category = category;
+    }
+
+    /**
+     * Chooses a new word from the category and starts a new game.
+     */
+    public void startNewGame() {
+        WordIndex wordIndex = DictionaryService.getWordIndex();
+        DictionaryInterface dictionary = wordIndex.getDictionary();
+        int wordCount = dictionary.getWordCount(category);
+        int matches = wordCriteria.matchesAll() ? wordCount : wordIndex.count(category, wordCriteria);
+        dictionaryVersion = dictionary.getVersion();
+        wordId = -1;
+        if (matches > 0) {
+            int rank = wordSamplers.computeIfAbsent(category, c -> new WordSampler()).next(matches, dictionaryVersion);
+            wordId = wordCriteria.matchesAll() ? rank : wordIndex.select(category, wordCriteria, rank);
+        }
+        beginGame(wordId >= 0 ? dictionary.getWord(category, wordId).toUpperCase() : FALLBACK_WORD);
+    }
+
+    /**
+     * Starts a new game with a given word instead of choosing one, used to replay recorded games. The word has no id in
+     * the dictionary.
+     *
+     * @param category the category to play in from now on
+     * @param word     the word to guess
+     */
+    public void startNewGame(String category, String word) {
+        this.category = category;
+        wordId = -1;
+        beginGame(word.toUpperCase());
+    }
+
+    private void beginGame(String word) {
+        wordToGuess = word;
+        guessState = new GuessState(wordToGuess);
+        incorrectGuesses = 0;
+        gameOver = false;
+        gamesPlayed++;
+        fireGameStateChanged(GameEngineEvent.Type.NEW_GAME, null, null);
+    }
+
+    /**
+     * Evaluates a guess. A single character is a letter guess, anything else is a guess of the whole word.
+     *
+     * @param input the guess, in any case
+     * @return the outcome of the guess
+     */
+    public GuessOutcome guess(String input) {
+        GuessOutcome outcome = evaluate(input.toUpperCase());
+        if (guessState != null) {
+            fireGameStateChanged(GameEngineEvent.Type.GUESS, outcome, input);
+        }
+        return outcome;
+    }
+
+    private GuessOutcome evaluate(String input) {
+        if (gameOver || guessState == null) {
+            return GuessOutcome.INVALID;
+        }
+        if (input.length() == 1) {
+            GuessState.Outcome outcome = guessState.guess(input.charAt(0));
+            if (outcome == GuessState.Outcome.ALREADY_TRIED || outcome == GuessState.Outcome.INVALID) {
+                return GuessOutcome.INVALID;
+            }
+            if (outcome == GuessState.Outcome.HIT) {
+                return guessState.isSolved() ? win() : GuessOutcome.HIT;
+            }
+            return miss(GuessOutcome.MISS);
+        }
+        if (input.equals(wordToGuess)) {
+            guessState.revealAll();
+            return win();
+        }
+        if (rejectUnknownWords && !isKnownWord(input)) {
+            return GuessOutcome.UNKNOWN_WORD;
+        }
+        return miss(GuessOutcome.WRONG_WORD);
+    }
+
+    private static boolean isKnownWord(String word) {
+        WordLexicon lexicon = DictionaryService.getLexicon();
+        // Dok se leksikon gradi, svaka se riječ prihvaća
+        return lexicon == null || lexicon.contains(word);
+    }
+
+    private GuessOutcome win() {
+        score += POINTS_PER_WORD;
+        wordsGuessed++;
+        categoryScores.put(category, categoryScores.getOrDefault(category, 0) + POINTS_PER_WORD);
+        gameOver = true;
+        return GuessOutcome.WON;
+    }
+
+    private GuessOutcome miss(GuessOutcome outcome) {
+        incorrectGuesses++;
+        if (incorrectGuesses >= MAX_INCORRECT_GUESSES) {
+            gameOver = true;
+            return GuessOutcome.LOST;
+        }
+        return outcome;
+    }
+
+    private void fireGameStateChanged(GameEngineEvent.Type type, GuessOutcome outcome, String input) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        GameEngineEvent event = new GameEngineEvent(this, type, outcome, input);
+        for (GameEngineListener listener : listeners) {
+            listener.gameStateChanged(event);
+        }
+    }
+
+    public void addGameEngineListener(GameEngineListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeGameEngineListener(GameEngineListener listener) {
+        listeners.remove(listener);
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getWordsGuessed() {
+        return wordsGuessed;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public Map<String, Integer> getCategoryScores() {
+        return categoryScores;
+    }
+
+    /**
+     * Carries on from totals recorded elsewhere, used when a player's save file cannot be read.
+     *
+     * @param stats the recorded totals of the player
+     */
+    void restoreTotals(PlayerStats stats) {
+        score = stats.getScore();
+        wordsGuessed = stats.getWordsGuessed();
+        gamesPlayed = stats.getGamesPlayed();
+        categoryScores = new HashMap<>(stats.getCategoryScores());
+    }
+
+    public int getIncorrectGuesses() {
+        return incorrectGuesses;
+    }
+
+    /**
+     * Checks whether the current game has ended, either won or lost. Before the first game this is true.
+     *
+     * @return true if no game is in progress
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Gets the word of the current game, in upper case.
+     *
+     * @return the word, or null before the first game
+     */
+    public String getWordToGuess() {
+        return wordToGuess;
+    }
+
+    public int getWordId() {
+        return wordId;
+    }
+
+    public long getDictionaryVersion() {
+        return dictionaryVersion;
+    }
+
+    /**
+     * Gets the seed of the permutation the current word was drawn from.
+     *
+     * @return the seed, or 0 if the word was not drawn by the sampler of the category
+     */
+    public long getWordSeed() {
+        WordSampler sampler = wordSamplers.get(category);
+        return sampler == null || wordId < 0 ? 0 : sampler.getSeed();
+    }
+
+    /**
+     * Gets the guess state of the current game, with the tried letters and the word display.
+     *
+     * @return the guess state, or null before the first game
+     */
+    public GuessState getGuessState() {
+        return guessState;
+    }
+
+    /**
+     * Gets the word display, with unrevealed letters shown as underscores.
+     *
+     * @return the display text, empty before the first game
+     */
+    public String getDisplayText() {
+        return guessState == null ? "" : guessState.getDisplayText();
+    }
+
+    /**
+     * Gets the missed letters separated by commas.
+     *
+     * @return the missed letters, empty before the first game
+     */
+    public String getMissedLetters() {
+        return guessState == null ? "" : guessState.getMissedLetters().toString();
+    }
+
+    /**
+     * Sets which words may be chosen from the category in the next games.
+     *
+     * @param wordCriteria the criteria, or {@link WordCriteria#ANY} to allow every word
+     */
+    public void setWordCriteria(WordCriteria wordCriteria) {
+        this.wordCriteria = wordCriteria;
+    }
+
+    public WordCriteria getWordCriteria() {
+        return wordCriteria;
+    }
+
+    /**
+     * Sets whether full-word guesses that are not in the dictionary are rejected without costing a life. Turning it on
+     * starts building the lexicon of the dictionary in the background; until it is ready every guess counts as a word.
+     *
+     * @param rejectUnknownWords true to reject unknown words
+     */
+    public void setRejectUnknownWords(boolean rejectUnknownWords) {
+        this.rejectUnknownWords = rejectUnknownWords;
+        if (rejectUnknownWords) {
+            DictionaryService.prepareLexicon();
+        }
+    }
+
+    public boolean isRejectUnknownWords() {
+        return rejectUnknownWords;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        triedLetters = guessState == null ? "" : guessState.getTriedLetters();
+        out.defaultWriteObject();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        listeners = new CopyOnWriteArrayList<>();
+        if (wordCriteria == null) {
+            wordCriteria = WordCriteria.ANY;
+        }
+        if (wordSamplers == null) {
+            wordSamplers = new HashMap<>();
+        }
+        restoreWord();
+    }
+
+    /**
+     * Restores the saved word and replays the tried letters. The word is saved with the game, so a game in progress
+     * survives a reload of the dictionary; its id then no longer refers to the current dictionary and is dropped.
+     * Saves that only hold the id are resolved against the shared dictionary, and cannot be restored if it has changed
+     * since the game was saved.
+     */
+    private void restoreWord() {
+        DictionaryInterface dictionary = DictionaryService.getDictionary();
+        boolean idValid = wordId >= 0 && dictionaryVersion == dictionary.getVersion()
+                && wordId < dictionary.getWordCount(category);
+        if (wordToGuess == null) {
+            if (!idValid) {
+                wordId = -1;
+                gameOver = true;
+                return;
+            }
+            wordToGuess = dictionary.getWord(category, wordId).toUpperCase();
+        } else if (!idValid) {
+            wordId = -1;
+        }
+        guessState = new GuessState(wordToGuess);
+        for (int i = 0; i < triedLetters.length(); i++) {
+            guessState.guess(triedLetters.charAt(i));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package model;
+
+import java.util.EventObject;
+
+/**
+ * This class represents a change of the state of a {@link GameEngine}: either a new word was chosen or a guess was
+ * evaluated.
+ */
+public class GameEngineEvent extends EventObject {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The kind of change.
+     */
+    public enum Type {
+        NEW_GAME, GUESS
+    }
+
+    private final Type type;
+    private final GuessOutcome outcome;
+    private final String input;
+
+    /**
+     * Constructs a GameEngineEvent.
+     *
+     * @param source  the engine whose state changed
+     * @param type    the kind of change
+     * @param outcome the outcome of the guess, or null for a new game
+     */
+    public GameEngineEvent(GameEngine source, Type type, GuessOutcome outcome) {
+        this(source, type, outcome, null);
+    }
+
+    /**
+     * Constructs a GameEngineEvent.
+     *
+     * @param source  the engine whose state changed
+     * @param type    the kind of change
+     * @param outcome the outcome of the guess, or null for a new game
+     * @param input   the guess as the player entered it, or null for a new game
+     */
+    public GameEngineEvent(GameEngine source, Type type, GuessOutcome outcome, String input) {
+        super(source);
+        this.type = type;
+        this.outcome = outcome;
+        this.input = input;
+    }
+
+    public GameEngine getEngine() {
+        return (GameEngine) getSource();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public GuessOutcome getOutcome() {
+        return outcome;
+    }
+
+    public String getInput() {
+        return input;
+    }
+}
@@ -0,0 +1,17 @@
+package model;
+
+import java.util.EventListener;
+
+/**
+ * This interface should be implemented by any class that wants to follow the state of a {@link GameEngine}, such as
+ * a user interface.
+ */
+public interface GameEngineListener extends EventListener {
+
+    /**
+     * Invoked after the engine has started a new game or evaluated a guess.
+     *
+     * @param event the GameEngineEvent describing the change
+     */
+    void gameStateChanged(GameEngineEvent event);
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * This class is one game hosted by a {@link GameSessionManager}. Every operation on the engine is put into the
+ * session's mailbox and the mailbox is drained by one task at a time, so the engine is only ever touched by one
+ * thread and sessions never wait on each other.
+ * <p>
+ * An idle session can be passivated by its {@link SessionCache}: the engine is written to disk and dropped from
+ * memory, and the next operation reads it back before it runs.
+ */
+public class GameSession {
+    private final String id;
+    private final Executor executor;
+    private final SessionCache cache;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private GameEngine engine;
+    private boolean passivated;
+    private volatile boolean resident;
+    private volatile long lastAccess = System.nanoTime();
+
+    GameSession(String id, Executor executor, SessionCache cache) {
+        this.id = id;
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Gets the time of the last operation on this session.
+     *
+     * @return the {@link System#nanoTime()} of the last operation
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Checks whether the engine of this session is in memory.
+     *
+     * @return true if the session is resident, false if it is passivated or not started yet
+     */
+    public boolean isResident() {
+        return resident;
+    }
+
+    /**
+     * Runs an operation on the engine of this session, after all operations submitted before it. A passivated engine
+     * is activated first.
+     *
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return a future completed with the result of the operation
+     */
+    public <T> CompletableFuture<T> submit(Function<GameEngine, T> operation) {
+        lastAccess = System.nanoTime();
+        return enqueue(() -> {
+            if (passivated) {
+                setEngine(cache.activate(this));
+                passivated = false;
+            } else if (engine != null) {
+                cache.recordHit();
+            }
+            return operation.apply(engine);
+        });
+    }
+
+    /**
+     * Writes the engine to disk and drops it from memory, unless the session was used again in the meantime.
+     *
+     * @param idleSince only passivate if the session has not been used after this time
+     * @return a future completed when the passivation has run
+     */
+    CompletableFuture<Boolean> passivate(long idleSince) {
+        return enqueue(() -> {
+            if (engine == null || lastAccess > idleSince) {
+                return false;
+            }
+            cache.passivate(this, engine);
+            setEngine(null);
+            passivated = true;
+            return true;
+        });
+    }
+
+    /**
+     * Drops the engine of a closed session and deletes its passivation file. Must only be called from an operation of
+     * this session.
+     */
+    void release() {
+        setEngine(null);
+        passivated = false;
+        cache.discard(this);
+    }
+
+    /**
+     * Replaces the engine of this session. Must only be called from an operation of this session.
+     */
+    void setEngine(GameEngine engine) {
+        boolean wasResident = this.engine != null;
+        this.engine = engine;
+        resident = engine != null;
+        if (wasResident != resident) {
+            cache.residentChanged(resident);
+        }
+    }
+
+    private <T> CompletableFuture<T> enqueue(Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.add(() -> {
+            try {
+                result.complete(task.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        schedule();
+        return result;
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            Runnable operation;
+            while ((operation = mailbox.poll()) != null) {
+                operation.run();
+            }
+            draining.set(false);
+        } while (!mailbox.isEmpty() && draining.compareAndSet(false, true));
+    }
+}
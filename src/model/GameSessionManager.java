@@ -0,0 +1,247 @@
+package model;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * This class hosts many independent game sessions in one process, keyed by session id. Each session serialises its
+ * own operations through a mailbox that is drained on a virtual thread, so thousands of players can play at the same
+ * time without sharing locks.
+ * <p>
+ * All operations return futures. When persistence is enabled, a session loads the player's saved engine when it is
+ * created and saves the engine and the player's score when it is closed. Idle sessions are passivated to disk by a
+ * {@link SessionCache}, checked by a background sweep and whenever too many sessions are resident.
+ */
+public class GameSessionManager {
+    private static final int RATE_WINDOW_SECONDS = 10;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService sweeper;
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final boolean persistent;
+    private final SessionCache cache;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder totalGuesses = new LongAdder();
+    private final long startNanos = System.nanoTime();
+    // Svaki pretinac pakira sekundu u gornja 32 bita i broj pokušaja u donja
+    private final AtomicLongArray guessesPerSecond = new AtomicLongArray(RATE_WINDOW_SECONDS + 1);
+
+    /**
+     * Constructs a manager whose sessions load and save player progress.
+     */
+    public GameSessionManager() {
+        this(true);
+    }
+
+    /**
+     * Constructs a manager.
+     *
+     * @param persistent true to load and save player progress, false to keep sessions in memory only
+     */
+    public GameSessionManager(boolean persistent) {
+        this(persistent, new SessionCache());
+    }
+
+    /**
+     * Constructs a manager with its own session cache limits.
+     *
+     * @param persistent true to load and save player progress, false to keep sessions in memory only
+     * @param cache      the cache that decides when sessions are passivated
+     */
+    public GameSessionManager(boolean persistent, SessionCache cache) {
+        this.persistent = persistent;
+        this.cache = cache;
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, cache.getIdleTimeoutMillis() / 2);
+        sweeper.scheduleWithFixedDelay(() -> cache.evict(sessions.values()), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a session for a player and starts its first game.
+     *
+     * @param playerName the name of the player
+     * @param category   the category to choose words from
+     * @return the id of the new session
+     */
+    public String createSession(String playerName, String category) {
+        GameSession session = new GameSession(UUID.randomUUID().toString(), executor, cache);
+        sessions.put(session.getId(), session);
+        session.submit(ignored -> {
+            GameEngine engine = persistent ? GameStateStore.load(playerName, category) : new GameEngine(playerName, category);
+            engine.startNewGame();
+            session.setEngine(engine);
+            return engine;
+        }).thenRun(this::evictIfOverCapacity);
+        return session.getId();
+    }
+
+    /**
+     * Evaluates a guess in a session.
+     *
+     * @param sessionId the id of the session
+     * @param input     the guessed letter or word
+     * @return a future with the outcome of the guess
+     */
+    public CompletableFuture<GuessOutcome> guess(String sessionId, String input) {
+        return guess(sessionId, input, (engine, outcome) -> outcome);
+    }
+
+    /**
+     * Evaluates a guess in a session and reads the engine in the same operation, so the result sees exactly the state
+     * the guess left behind.
+     *
+     * @param sessionId the id of the session
+     * @param input     the guessed letter or word
+     * @param result    builds the result from the engine and the outcome of the guess
+     * @param <T>       the type of the result
+     * @return a future with the result
+     */
+    public <T> CompletableFuture<T> guess(String sessionId, String input, BiFunction<GameEngine, GuessOutcome, T> result) {
+        return submit(sessionId, engine -> {
+            GuessOutcome outcome = engine.guess(input);
+            recordGuess();
+            return result.apply(engine, outcome);
+        });
+    }
+
+    /**
+     * Starts a new game in a session.
+     *
+     * @param sessionId the id of the session
+     * @return a future completed when the new word has been chosen
+     */
+    public CompletableFuture<Void> newGame(String sessionId) {
+        return submit(sessionId, engine -> {
+            engine.startNewGame();
+            return null;
+        });
+    }
+
+    /**
+     * Runs any operation on the engine of a session, in order with its other operations.
+     *
+     * @param sessionId the id of the session
+     * @param operation the operation
+     * @param <T>       the type of the result
+     * @return a future with the result of the operation
+     */
+    public <T> CompletableFuture<T> submit(String sessionId, Function<GameEngine, T> operation) {
+        GameSession session = sessions.get(sessionId);
+        if (session == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown session: " + sessionId));
+        }
+        CompletableFuture<T> result = session.submit(operation);
+        if (cache.isOverCapacity()) {
+            result.thenRun(this::evictIfOverCapacity);
+        }
+        return result;
+    }
+
+    private void evictIfOverCapacity() {
+        if (cache.isOverCapacity() && evicting.compareAndSet(false, true)) {
+            sweeper.execute(() -> {
+                try {
+                    cache.evict(sessions.values());
+                } finally {
+                    evicting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Closes a session after its pending operations have run, saving the player's progress if persistence is enabled.
+     *
+     * @param sessionId the id of the session
+     * @return a future completed when the session is closed
+     */
+    public CompletableFuture<Void> closeSession(String sessionId) {
+        GameSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return session.submit(engine -> {
+            if (persistent && engine != null) {
+                GameStateStore.save(engine);
+                GameStateStore.saveScore(engine);
+            }
+            session.release();
+            return null;
+        });
+    }
+
+    /**
+     * Closes every session and stops the executor, waiting for pending operations to finish.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void shutdown() throws InterruptedException {
+        CompletableFuture.allOf(sessions.keySet().stream().map(this::closeSession).toArray(CompletableFuture[]::new))
+                .exceptionally(t -> null).join();
+        sweeper.shutdownNow();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    public SessionCache getCache() {
+        return cache;
+    }
+
+    public long getTotalGuesses() {
+        return totalGuesses.sum();
+    }
+
+    /**
+     * Gets the average number of guesses per second over the last few complete seconds.
+     *
+     * @return the guess rate
+     */
+    public double getGuessesPerSecond() {
+        long now = currentSecond();
+        long guesses = 0;
+        for (int i = 0; i < guessesPerSecond.length(); i++) {
+            long bucket = guessesPerSecond.get(i);
+            long second = bucket >>> 32;
+            if (second < now && second >= now - RATE_WINDOW_SECONDS) {
+                guesses += bucket & 0xFFFFFFFFL;
+            }
+        }
+        return (double) guesses / RATE_WINDOW_SECONDS;
+    }
+
+    private void recordGuess() {
+        totalGuesses.increment();
+        long second = currentSecond();
+        int bucket = (int) (second % guessesPerSecond.length());
+        // Nova sekunda i brojač se mijenjaju istim CAS-om, pa se istovremeni pokušaji ne brišu
+        long current;
+        long next;
+        do {
+            current = guessesPerSecond.get(bucket);
+            next = current >>> 32 >= second ? current + 1 : second << 32 | 1;
+        } while (!guessesPerSecond.compareAndSet(bucket, current, next));
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startNanos);
+    }
+}
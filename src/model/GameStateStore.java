@@ -0,0 +1,88 @@
+package model;
+
+import java.io.*;
+import java.util.List;
+
+/**
+ * This class saves and loads the progress of players. Each player has a save file in the data directory with their
+ * serialized {@link GameEngine}, and their totals are also recorded by the {@link HighscoreManager}.
+ */
+public final class GameStateStore {
+    private static final String DATA_DIRECTORY = "data";
+
+    private GameStateStore() {
+    }
+
+    /**
+     * Loads the saved engine of a player. If the player has no save file yet, or it cannot be read, for example because
+     * it was written by an older version of the game, a new engine is created that carries on from the totals recorded
+     * for the player by the {@link HighscoreManager}, so the next save does not reset them.
+     *
+     * @param playerName the name of the player
+     * @param category   the category for a new engine
+     * @return the engine of the player
+     */
+    public static GameEngine load(String playerName, String category) {
+        File file = getSaveFile(playerName);
+        if (file.exists()) {
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+                Object saved = ois.readObject();
+                if (saved instanceof GameEngine) {
+                    return (GameEngine) saved;
+                }
+            } catch (InvalidClassException e) {
+                // Spremljena je igra starog formata, zbrojevi se preuzimaju iz tablice rezultata
+                System.out.println("Save file " + file + " has an old format. Continuing from the recorded totals.");
+            } catch (IOException | ClassNotFoundException e) {
+                e.printStackTrace();
+            }
+        }
+        GameEngine engine = new GameEngine(playerName, category);
+        PlayerStats stats = HighscoreManager.getInstance().getPlayerStats(playerName);
+        if (stats != null) {
+            engine.restoreTotals(stats);
+        }
+        return engine;
+    }
+
+    /**
+     * Writes the engine of a player to their save file.
+     *
+     * @param engine the engine to save
+     */
+    public static void save(GameEngine engine) {
+        File directory = new File(DATA_DIRECTORY);
+        if (!directory.exists()) {
+            directory.mkdir();
+        }
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                new BufferedOutputStream(new FileOutputStream(getSaveFile(engine.getPlayerName()))))) {
+            oos.writeObject(engine);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Records the totals of a player in the shared high score list. The stats file is written in the background.
+     *
+     * @param engine the engine of the player
+     */
+    public static void saveScore(GameEngine engine) {
+        HighscoreManager.getInstance().savePlayerStats(engine.getPlayerName(), engine.getScore(), engine.getWordsGuessed(),
+                engine.getGamesPlayed(), engine.getCategoryScores(), engine.getCategory());
+    }
+
+    /**
+     * Gets the shared high score list, ordered from the highest score down.
+     *
+     * @return an unmodifiable list with the totals of every player
+     */
+    public static List<PlayerStats> loadScores() {
+        return HighscoreManager.getInstance().getPlayerStatsList();
+    }
+
+    private static File getSaveFile(String playerName) {
+        return new File(DATA_DIRECTORY, playerName + "_game.ser");
+    }
+}
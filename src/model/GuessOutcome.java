@@ -0,0 +1,35 @@
+package model;
+
+/**
+ * The outcome of a guess evaluated by the {@link GameEngine}.
+ */
+public enum GuessOutcome {
+    /**
+     * The letter is in the word, but the word is not solved yet.
+     */
+    HIT,
+    /**
+     * The letter is not in the word.
+     */
+    MISS,
+    /**
+     * The full word guess was wrong.
+     */
+    WRONG_WORD,
+    /**
+     * The guess was not a valid new letter, or no game is in progress.
+     */
+    INVALID,
+    /**
+     * The full word guess is not in the dictionary and was rejected without costing a life.
+     */
+    UNKNOWN_WORD,
+    /**
+     * The guess solved the word.
+     */
+    WON,
+    /**
+     * The guess was wrong and used up the last life.
+     */
+    LOST
+}
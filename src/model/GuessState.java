@@ -0,0 +1,258 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * This class keeps the state of guessing a single word. Tried, hit and missed letters are kept as bitmasks, every
+ * letter of the word has a precomputed list of display positions and the word display is a reusable buffer that is
+ * updated only where a letter is revealed, so evaluating a guess does not allocate.
+ */
+public class GuessState {
+    /**
+     * The result of guessing a single letter.
+     */
+    public enum Outcome {
+        HIT, MISS, ALREADY_TRIED, INVALID
+    }
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final int MAX_LETTERS = 64;
+    private static final String MISSED_SEPARATOR = ", ";
+
+    private final String word;
+    private final char[] triedOrder = new char[MAX_LETTERS];
+    private int triedCount;
+
+    // Slova izvan A-Z dobivaju mjesta od ALPHABET_SIZE nadalje
+    private char[] extraLetters;
+    private int extraCount;
+    private long triedMask;
+    private long hitMask;
+    private long missedMask;
+    private int[] positionStart;
+    private int[] positions;
+    private char[] display;
+    private int remaining;
+    private StringBuilder missedLetters;
+
+    /**
+     * Constructs the guess state for the given word.
+     *
+     * @param word the word to guess, in upper case
+     */
+    public GuessState(String word) {
+        this.word = word;
+        initialize();
+    }
+
+    private void initialize() {
+        extraLetters = new char[MAX_LETTERS - ALPHABET_SIZE];
+        extraCount = 0;
+        triedMask = 0;
+        hitMask = 0;
+        missedMask = 0;
+        missedLetters = new StringBuilder();
+
+        int length = word.length();
+        int[] slots = new int[length];
+        int[] displayOffsets = new int[length];
+        int[] slotCounts = new int[MAX_LETTERS + 1];
+        int displayLength = 0;
+        remaining = 0;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            displayOffsets[i] = displayLength;
+            if (c == ' ') {
+                slots[i] = -1;
+                displayLength += 4;
+                continue;
+            }
+            slots[i] = Character.isLetter(c) ? slotOf(c, true) : -1;
+            if (slots[i] >= 0) {
+                slotCounts[slots[i] + 1]++;
+            }
+            remaining++;
+            displayLength += 2;
+        }
+
+        positionStart = new int[MAX_LETTERS + 1];
+        for (int slot = 0; slot < MAX_LETTERS; slot++) {
+            positionStart[slot + 1] = positionStart[slot] + slotCounts[slot + 1];
+        }
+        positions = new int[positionStart[MAX_LETTERS]];
+        int[] fill = new int[MAX_LETTERS];
+        display = new char[displayLength];
+        Arrays.fill(display, ' ');
+        for (int i = 0; i < length; i++) {
+            if (word.charAt(i) == ' ') {
+                continue;
+            }
+            display[displayOffsets[i]] = '_';
+            int slot = slots[i];
+            if (slot >= 0) {
+                positions[positionStart[slot] + fill[slot]++] = displayOffsets[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the bit index of a letter, or -1 if the letter cannot be tracked.
+     */
+    private int slotOf(char letter, boolean assign) {
+        if (letter >= 'A' && letter <= 'Z') {
+            return letter - 'A';
+        }
+        for (int i = 0; i < extraCount; i++) {
+            if (extraLetters[i] == letter) {
+                return ALPHABET_SIZE + i;
+            }
+        }
+        if (!assign || extraCount == extraLetters.length) {
+            return -1;
+        }
+        extraLetters[extraCount] = letter;
+        return ALPHABET_SIZE + extraCount++;
+    }
+
+    /**
+     * Evaluates a guessed letter and reveals it in the display if the word contains it.
+     *
+     * @param letter the guessed letter
+     * @return the outcome of the guess
+     */
+    public Outcome guess(char letter) {
+        letter = Character.toUpperCase(letter);
+        if (!Character.isLetter(letter)) {
+            return Outcome.INVALID;
+        }
+        int slot = slotOf(letter, true);
+        if (slot < 0) {
+            return Outcome.INVALID;
+        }
+        long bit = 1L << slot;
+        if ((triedMask & bit) != 0) {
+            return Outcome.ALREADY_TRIED;
+        }
+        triedMask |= bit;
+        triedOrder[triedCount++] = letter;
+
+        int start = positionStart[slot];
+        int end = positionStart[slot + 1];
+        if (start == end) {
+            missedMask |= bit;
+            if (missedLetters.length() > 0) {
+                missedLetters.append(MISSED_SEPARATOR);
+            }
+            missedLetters.append(letter);
+            return Outcome.MISS;
+        }
+        hitMask |= bit;
+        for (int i = start; i < end; i++) {
+            display[positions[i]] = letter;
+        }
+        remaining -= end - start;
+        return Outcome.HIT;
+    }
+
+    /**
+     * Reveals the whole word, used when the player guesses the full word.
+     */
+    public void revealAll() {
+        int offset = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c == ' ') {
+                offset += 4;
+            } else {
+                display[offset] = c;
+                offset += 2;
+            }
+        }
+        remaining = 0;
+    }
+
+    /**
+     * Checks whether the given letter was already tried.
+     *
+     * @param letter the letter to check
+     * @return true if the letter was tried
+     */
+    public boolean isTried(char letter) {
+        int slot = slotOf(Character.toUpperCase(letter), false);
+        return slot >= 0 && (triedMask & (1L << slot)) != 0;
+    }
+
+    /**
+     * Checks whether every letter of the word has been revealed.
+     *
+     * @return true if the word is solved
+     */
+    public boolean isSolved() {
+        return remaining == 0;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getRemaining() {
+        return remaining;
+    }
+
+    public long getTriedMask() {
+        return triedMask;
+    }
+
+    public long getHitMask() {
+        return hitMask;
+    }
+
+    public long getMissedMask() {
+        return missedMask;
+    }
+
+    /**
+     * Gets the letters tried so far, in the order they were guessed.
+     *
+     * @return the tried letters
+     */
+    public String getTriedLetters() {
+        return new String(triedOrder, 0, triedCount);
+    }
+
+    /**
+     * Gets the word with every unrevealed letter replaced by an underscore, one character for each character of the
+     * word. Unlike the display, characters that are not letters are shown as they are.
+     *
+     * @return the mask of the word
+     */
+    public String getMask() {
+        char[] mask = new char[word.length()];
+        for (int i = 0; i < mask.length; i++) {
+            char c = word.charAt(i);
+            int slot = Character.isLetter(c) ? slotOf(c, false) : -1;
+            boolean hidden = Character.isLetter(c) && remaining > 0 && (slot < 0 || (hitMask & (1L << slot)) == 0);
+            mask[i] = hidden ? '_' : c;
+        }
+        return new String(mask);
+    }
+
+    /**
+     * Gets the word display, with unrevealed letters shown as underscores.
+     *
+     * @return a new string with the current contents of the display buffer
+     */
+    public String getDisplayText() {
+        return new String(display);
+    }
+
+    /**
+     * Gets the missed letters separated by commas. The returned sequence is the internal buffer and changes with
+     * further guesses.
+     *
+     * @return the missed letters
+     */
+    public CharSequence getMissedLetters() {
+        return missedLetters;
+    }
+}
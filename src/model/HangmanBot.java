@@ -0,0 +1,62 @@
+package model;
+
+/**
+ * This class plays hangman on a {@link GameEngine} by always guessing the letter suggested by a {@link HangmanSolver}.
+ * As soon as only one word of the category fits, it guesses the whole word.
+ */
+public class HangmanBot {
+    private final HangmanSolver solver;
+
+    /**
+     * Constructs a bot that uses the solver of the shared dictionary.
+     */
+    public HangmanBot() {
+        this(DictionaryService.getSolver());
+    }
+
+    /**
+     * Constructs a bot.
+     *
+     * @param solver the solver that chooses the guesses
+     */
+    public HangmanBot(HangmanSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Plays the current game of an engine until it is won or lost.
+     *
+     * @param engine the engine with a game in progress
+     * @return the outcome of the last guess, {@link GuessOutcome#WON} or {@link GuessOutcome#LOST} unless the bot ran
+     * out of guesses to make
+     */
+    public GuessOutcome play(GameEngine engine) {
+        GuessState state = engine.getGuessState();
+        if (state == null || engine.isGameOver()) {
+            return GuessOutcome.INVALID;
+        }
+        HangmanSolver.Candidates candidates = solver.newGame(engine.getCategory(), state.getMask());
+        GuessOutcome outcome = GuessOutcome.INVALID;
+        while (!engine.isGameOver()) {
+            candidates.update(state.getMask(), state.getTriedLetters());
+            String word = candidates.getOnlyWord();
+            if (word != null) {
+                outcome = engine.guess(word);
+                if (outcome != GuessOutcome.WON) {
+                    // Riječ nije u rječniku, dalje se pogađaju slova
+                    candidates.clear();
+                }
+                continue;
+            }
+            char letter = candidates.bestLetter();
+            if (letter == 0) {
+                break;
+            }
+            outcome = engine.guess(String.valueOf(letter));
+            if (outcome == GuessOutcome.INVALID) {
+                break;
+            }
+        }
+        return outcome;
+    }
+}
@@ -0,0 +1,574 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * This class works out which words of a category still fit a game in progress and which letter to guess next.
+ * <p>
+ * The words of a category are grouped by length. For every group there is one bitset per position and letter, with a
+ * bit for each word that has that letter at that position, and one bitset per letter for the words that contain it
+ * anywhere. Besides A to Z, the letters of a category that lie outside A to Z, such as the Ć of "Luka Modrić", get
+ * letters of their own, so an underscore in the mask stands for any letter that is not revealed yet and the solver
+ * guesses those letters like any other. The candidates of a game are a bitset too: a missed letter removes every word
+ * that contains it, and a hit keeps the words with the letter exactly where it was revealed, so each guess costs a few
+ * bitset operations no matter how the candidates were reached. The suggested letter is the one that the most candidates
+ * contain; candidates are counted by popcount while there are many of them and word by word once only a few are left.
+ */
+public class HangmanSolver {
+    private static final int ALPHABET_SIZE = 26;
+    // Slova, jedno mjesto za slova bez vlastitog i jedno za ostale znakove moraju stati u long
+    private static final int MAX_EXTRA_LETTERS = Long.SIZE - ALPHABET_SIZE - 2;
+    private static final String LETTER_FREQUENCY_ORDER = "ETAOINSRHLDCUMFPGWYBVKXJQZ";
+
+    private final DictionaryInterface dictionary;
+    private final Map<String, CategoryTables> categories = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a solver over a dictionary. A category is indexed the first time it is used.
+     *
+     * @param dictionary the dictionary to solve from
+     */
+    public HangmanSolver(DictionaryInterface dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public DictionaryInterface getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Starts tracking the candidates of a new game.
+     *
+     * @param category the category of the word
+     * @param mask     the word with every unrevealed letter as an underscore
+     * @return the candidates
+     */
+    public Candidates newGame(String category, CharSequence mask) {
+        Candidates candidates = new Candidates(category);
+        candidates.reset(mask);
+        return candidates;
+    }
+
+    /**
+     * Suggests the next letter for a game in progress.
+     *
+     * @param category the category of the word
+     * @param state    the guess state of the game
+     * @return the suggested letter, or 0 if every letter was tried
+     */
+    public char suggest(String category, GuessState state) {
+        Candidates candidates = newGame(category, state.getMask());
+        candidates.update(state.getMask(), state.getTriedLetters());
+        return candidates.bestLetter();
+    }
+
+    /**
+     * Plays a whole game against a known word without a {@link GameEngine}, for batch runs.
+     *
+     * @param candidates candidates of the word's category, reset by this method and reusable for the next game
+     * @param word       the word, in upper case
+     * @return the number of incorrect guesses; {@link GameEngine#MAX_INCORRECT_GUESSES} or more means the game was lost
+     */
+    public int solve(Candidates candidates, String word) {
+        // Maska se gradi kao u GuessState.getMask: skrivena su sva slova
+        char[] mask = new char[word.length()];
+        int hidden = 0;
+        for (int i = 0; i < mask.length; i++) {
+            char c = word.charAt(i);
+            if (Character.isLetter(c)) {
+                mask[i] = '_';
+                hidden++;
+            } else {
+                mask[i] = c;
+            }
+        }
+        candidates.reset(new String(mask));
+        StringBuilder triedLetters = new StringBuilder();
+        int incorrectGuesses = 0;
+        while (hidden > 0 && incorrectGuesses < GameEngine.MAX_INCORRECT_GUESSES) {
+            String only = candidates.getOnlyWord();
+            if (only != null) {
+                if (only.equals(word)) {
+                    return incorrectGuesses;
+                }
+                incorrectGuesses++;
+                candidates.clear();
+                continue;
+            }
+            char letter = candidates.bestLetter();
+            if (letter == 0) {
+                break;
+            }
+            triedLetters.append(letter);
+            boolean hit = false;
+            for (int i = 0; i < mask.length; i++) {
+                if (word.charAt(i) == letter) {
+                    mask[i] = letter;
+                    hidden--;
+                    hit = true;
+                }
+            }
+            if (!hit) {
+                incorrectGuesses++;
+            }
+            candidates.update(new String(mask), triedLetters);
+        }
+        return hidden == 0 ? incorrectGuesses : Math.max(incorrectGuesses, GameEngine.MAX_INCORRECT_GUESSES);
+    }
+
+    private CategoryTables tables(String category) {
+        return categories.computeIfAbsent(category, this::buildTables);
+    }
+
+    private CategoryTables buildTables(String category) {
+        int count = dictionary.getWordCount(category);
+        String[] words = new String[count];
+        int maxLength = 0;
+        Map<Character, Integer> extraCounts = new HashMap<>();
+        for (int id = 0; id < count; id++) {
+            words[id] = dictionary.getWord(category, id).toUpperCase();
+            maxLength = Math.max(maxLength, words[id].length());
+            for (int i = 0; i < words[id].length(); i++) {
+                char c = words[id].charAt(i);
+                if ((c < 'A' || c > 'Z') && Character.isLetter(c)) {
+                    extraCounts.merge(c, 1, Integer::sum);
+                }
+            }
+        }
+        // Ako je slova previše, vlastito mjesto dobivaju najčešća
+        List<Character> extras = new ArrayList<>(extraCounts.keySet());
+        extras.sort(Comparator.comparing(extraCounts::get, Comparator.reverseOrder()));
+        char[] extraLetters = new char[Math.min(extras.size(), MAX_EXTRA_LETTERS)];
+        for (int i = 0; i < extraLetters.length; i++) {
+            extraLetters[i] = extras.get(i);
+        }
+        Arrays.sort(extraLetters);
+        Alphabet alphabet = new Alphabet(extraLetters);
+
+        int[] sizes = new int[maxLength + 1];
+        for (String word : words) {
+            sizes[word.length()]++;
+        }
+        int[][] ids = new int[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            ids[length] = new int[sizes[length]];
+        }
+        int[] fill = new int[maxLength + 1];
+        for (int id = 0; id < count; id++) {
+            int length = words[id].length();
+            ids[length][fill[length]++] = id;
+        }
+        LengthTable[] tables = new LengthTable[maxLength + 1];
+        for (int length = 1; length <= maxLength; length++) {
+            if (sizes[length] > 0) {
+                tables[length] = new LengthTable(alphabet, length, ids[length], words);
+            }
+        }
+        return new CategoryTables(alphabet, tables);
+    }
+
+    /**
+     * The letters of one category. A to Z come first, then the other letters the words contain, then one slot shared
+     * by the letters that did not get one of their own and last one slot for every character that is not a letter.
+     */
+    private static final class Alphabet {
+        private final char[] extraLetters;
+        private final int letterSlots;
+        private final int untrackedSlot;
+        private final int nonLetterSlot;
+        private final int slots;
+
+        Alphabet(char[] extraLetters) {
+            this.extraLetters = extraLetters;
+            letterSlots = ALPHABET_SIZE + extraLetters.length;
+            untrackedSlot = letterSlots;
+            nonLetterSlot = letterSlots + 1;
+            slots = letterSlots + 2;
+        }
+
+        int slotOf(char c) {
+            if (c >= 'A' && c <= 'Z') {
+                return c - 'A';
+            }
+            if (!Character.isLetter(c)) {
+                return nonLetterSlot;
+            }
+            int extra = Arrays.binarySearch(extraLetters, c);
+            return extra >= 0 ? ALPHABET_SIZE + extra : untrackedSlot;
+        }
+
+        char letterOf(int slot) {
+            return slot < ALPHABET_SIZE ? (char) ('A' + slot) : extraLetters[slot - ALPHABET_SIZE];
+        }
+    }
+
+    /**
+     * The alphabet and the tables of one category, indexed by word length.
+     */
+    private static final class CategoryTables {
+        private final Alphabet alphabet;
+        private final LengthTable[] tables;
+
+        CategoryTables(Alphabet alphabet, LengthTable[] tables) {
+            this.alphabet = alphabet;
+            this.tables = tables;
+        }
+
+        LengthTable get(int length) {
+            return length < tables.length ? tables[length] : null;
+        }
+    }
+
+    /**
+     * The bitsets of the words of one length in one category.
+     */
+    private static final class LengthTable {
+        private final int size;
+        private final int[] wordIds;
+        // Bitovi za riječ s danim slovom na danom mjestu, indeks je mjesto * broj mjesta abecede + slovo
+        private final long[][] positionBits;
+        private final long[][] letterBits;
+        private final long[] letterMasks;
+        private final int[] letterCounts;
+
+        LengthTable(Alphabet alphabet, int length, int[] wordIds, String[] words) {
+            this.wordIds = wordIds;
+            size = wordIds.length;
+            int blocks = (size + 63) >>> 6;
+            positionBits = new long[length * alphabet.slots][];
+            letterBits = new long[alphabet.slots][];
+            letterMasks = new long[size];
+            letterCounts = new int[alphabet.letterSlots];
+            for (int i = 0; i < size; i++) {
+                String word = words[wordIds[i]];
+                long bit = 1L << i;
+                for (int p = 0; p < length; p++) {
+                    int slot = alphabet.slotOf(word.charAt(p));
+                    int index = p * alphabet.slots + slot;
+                    if (positionBits[index] == null) {
+                        positionBits[index] = new long[blocks];
+                    }
+                    positionBits[index][i >>> 6] |= bit;
+                    if (letterBits[slot] == null) {
+                        letterBits[slot] = new long[blocks];
+                    }
+                    letterBits[slot][i >>> 6] |= bit;
+                    if (slot < alphabet.letterSlots) {
+                        letterMasks[i] |= 1L << slot;
+                    }
+                }
+            }
+            for (int slot = 0; slot < alphabet.letterSlots; slot++) {
+                letterCounts[slot] = popcount(letterBits[slot]);
+            }
+        }
+
+        private static int popcount(long[] bits) {
+            int count = 0;
+            if (bits != null) {
+                for (long block : bits) {
+                    count += Long.bitCount(block);
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * The words that still fit one game. Candidates are updated in place after every guess and can be reset for the
+     * next game, so a bot or a batch run allocates them once per category and word length.
+     */
+    public final class Candidates {
+        private final CategoryTables tables;
+        private final Alphabet alphabet;
+        private final String category;
+        private LengthTable table;
+        private long[] bits = new long[0];
+        private int from;
+        private int to;
+        private int count;
+        private long appliedMask;
+        private final int[] letterCounts;
+
+        private Candidates(String category) {
+            this.category = category;
+            tables = tables(category);
+            alphabet = tables.alphabet;
+            letterCounts = new int[alphabet.letterSlots];
+        }
+
+        /**
+         * Starts over with every word of the category that has the shape of the mask.
+         *
+         * @param mask the word with every unrevealed letter, within A to Z or not, as an underscore
+         */
+        public void reset(CharSequence mask) {
+            table = tables.get(mask.length());
+            appliedMask = 0;
+            if (table == null) {
+                clear();
+                return;
+            }
+            int blocks = (table.size + 63) >>> 6;
+            if (bits.length < blocks) {
+                bits = new long[blocks];
+            }
+            Arrays.fill(bits, 0, blocks, -1L);
+            if ((table.size & 63) != 0) {
+                bits[blocks - 1] = (1L << (table.size & 63)) - 1;
+            }
+            Arrays.fill(bits, blocks, bits.length, 0);
+            from = 0;
+            to = blocks;
+            count = table.size;
+            // Razmaci i ostali znakovi koji nisu slova vidljivi su od početka, a ispod podvlake je uvijek slovo
+            int nonLetter = alphabet.nonLetterSlot;
+            for (int p = 0; p < mask.length(); p++) {
+                char c = mask.charAt(p);
+                if (c == '_') {
+                    remove(table.positionBits[p * alphabet.slots + nonLetter]);
+                } else if (alphabet.slotOf(c) == nonLetter) {
+                    retain(table.positionBits[p * alphabet.slots + nonLetter]);
+                }
+            }
+            recount();
+        }
+
+        /**
+         * Removes the words ruled out by letters tried since the last update.
+         *
+         * @param mask         the word with every unrevealed letter as an underscore
+         * @param triedLetters the tried letters, in upper case
+         */
+        public void update(CharSequence mask, CharSequence triedLetters) {
+            if (table == null) {
+                return;
+            }
+            for (int i = 0; i < triedLetters.length(); i++) {
+                char letter = triedLetters.charAt(i);
+                int slot = alphabet.slotOf(letter);
+                if (slot >= alphabet.letterSlots) {
+                    // Slovo bez vlastitog mjesta ne isključuje riječi, samo zadržava one s nekim takvim slovom
+                    if (slot == alphabet.untrackedSlot) {
+                        for (int p = 0; p < mask.length(); p++) {
+                            if (mask.charAt(p) == letter) {
+                                retain(table.positionBits[p * alphabet.slots + slot]);
+                            }
+                        }
+                    }
+                    continue;
+                }
+                if ((appliedMask & (1L << slot)) != 0) {
+                    continue;
+                }
+                appliedMask |= 1L << slot;
+                boolean hit = false;
+                for (int p = 0; p < mask.length(); p++) {
+                    if (mask.charAt(p) == letter) {
+                        hit = true;
+                        retain(table.positionBits[p * alphabet.slots + slot]);
+                    }
+                }
+                if (!hit) {
+                    remove(table.letterBits[slot]);
+                    continue;
+                }
+                for (int p = 0; p < mask.length(); p++) {
+                    if (mask.charAt(p) == '_') {
+                        remove(table.positionBits[p * alphabet.slots + slot]);
+                    }
+                }
+            }
+            recount();
+        }
+
+        /**
+         * Removes every candidate, for a game whose word is not in the category.
+         */
+        public void clear() {
+            from = 0;
+            to = 0;
+            count = 0;
+        }
+
+        /**
+         * Gets the letter that the most candidates contain, among the letters not tried yet.
+         *
+         * @return the letter, or 0 if every letter was tried
+         */
+        public char bestLetter() {
+            int best = -1;
+            int bestCount = 0;
+            if (count > 0) {
+                countLetters();
+                for (int slot = 0; slot < alphabet.letterSlots; slot++) {
+                    if ((appliedMask & (1L << slot)) == 0 && letterCounts[slot] > bestCount) {
+                        best = slot;
+                        bestCount = letterCounts[slot];
+                    }
+                }
+            }
+            if (best >= 0) {
+                return alphabet.letterOf(best);
+            }
+            // Bez kandidata se pogađa po učestalosti slova
+            for (int i = 0; i < LETTER_FREQUENCY_ORDER.length(); i++) {
+                char letter = LETTER_FREQUENCY_ORDER.charAt(i);
+                if ((appliedMask & (1L << (letter - 'A'))) == 0) {
+                    return letter;
+                }
+            }
+            return 0;
+        }
+
+        private void countLetters() {
+            if (count == table.size) {
+                System.arraycopy(table.letterCounts, 0, letterCounts, 0, alphabet.letterSlots);
+                return;
+            }
+            Arrays.fill(letterCounts, 0);
+            if (count * 4 < (to - from) * alphabet.letterSlots) {
+                for (int block = from; block < to; block++) {
+                    long word = bits[block];
+                    while (word != 0) {
+                        long letters = table.letterMasks[(block << 6) + Long.numberOfTrailingZeros(word)];
+                        word &= word - 1;
+                        while (letters != 0) {
+                            letterCounts[Long.numberOfTrailingZeros(letters)]++;
+                            letters &= letters - 1;
+                        }
+                    }
+                }
+                return;
+            }
+            for (int slot = 0; slot < alphabet.letterSlots; slot++) {
+                long[] letter = table.letterBits[slot];
+                if (letter == null || (appliedMask & (1L << slot)) != 0) {
+                    continue;
+                }
+                int letterCount = 0;
+                for (int block = from; block < to; block++) {
+                    letterCount += Long.bitCount(bits[block] & letter[block]);
+                }
+                letterCounts[slot] = letterCount;
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the only candidate.
+         *
+         * @return the word in upper case, or null if there is not exactly one candidate
+         */
+        public String getOnlyWord() {
+            if (count != 1) {
+                return null;
+            }
+            for (int block = from; block < to; block++) {
+                if (bits[block] != 0) {
+                    int wordId = table.wordIds[(block << 6) + Long.numberOfTrailingZeros(bits[block])];
+                    return dictionary.getWord(category, wordId).toUpperCase();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the ids of up to a number of candidates, in dictionary order within their length.
+         *
+         * @param max the most ids to return
+         * @return the word ids
+         */
+        public List<Integer> getWordIds(int max) {
+            List<Integer> ids = new ArrayList<>();
+            for (int block = from; block < to && ids.size() < max; block++) {
+                long word = bits[block];
+                while (word != 0 && ids.size() < max) {
+                    ids.add(table.wordIds[(block << 6) + Long.numberOfTrailingZeros(word)]);
+                    word &= word - 1;
+                }
+            }
+            return ids;
+        }
+
+        private void retain(long[] other) {
+            if (other == null) {
+                clear();
+                return;
+            }
+            for (int block = from; block < to; block++) {
+                bits[block] &= other[block];
+            }
+        }
+
+        private void remove(long[] other) {
+            if (other == null) {
+                return;
+            }
+            for (int block = from; block < to; block++) {
+                bits[block] &= ~other[block];
+            }
+        }
+
+        private void recount() {
+            while (from < to && bits[from] == 0) {
+                from++;
+            }
+            while (to > from && bits[to - 1] == 0) {
+                to--;
+            }
+            int total = 0;
+            for (int block = from; block < to; block++) {
+                total += Long.bitCount(bits[block]);
+            }
+            count = total;
+        }
+    }
+
+    /**
+     * Solves every word of a category in parallel and reports the win rate and the number of games per minute.
+     *
+     * @param args the category, and optionally the number of rounds over the category
+     */
+    public static void main(String[] args) {
+        String category = args.length > 0 ? args[0] : DictionaryService.getDictionary().getCategories().get(0);
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        HangmanSolver solver = DictionaryService.getSolver();
+        int wordCount = solver.getDictionary().getWordCount(category);
+        String[] words = new String[wordCount];
+        for (int id = 0; id < wordCount; id++) {
+            words[id] = solver.getDictionary().getWord(category, id).toUpperCase();
+        }
+        solver.newGame(category, "_");
+
+        LongAdder wins = new LongAdder();
+        long start = System.nanoTime();
+        IntStream.range(0, wordCount * rounds).parallel().forEach(new IntConsumer() {
+            private final ThreadLocal<Candidates> candidates =
+                    ThreadLocal.withInitial(() -> solver.newGame(category, "_"));
+
+            @Override
+            public void accept(int game) {
+                if (solver.solve(candidates.get(), words[game % wordCount]) < GameEngine.MAX_INCORRECT_GUESSES) {
+                    wins.increment();
+                }
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long games = (long) wordCount * rounds;
+        System.out.printf("%s: %d games in %.2f s, %.0f games/min, win rate %.1f %%%n", category, games, seconds,
+                games / seconds * 60, 100.0 * wins.sum() / games);
+    }
+}
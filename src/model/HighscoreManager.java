@@ -1,58 +1,594 @@
 package model;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * This class keeps the totals of every player and saves them to the stats file. Players are kept in two
+ * {@link RankTree}s, one ordered by name for lookups and one by score, highest first, and then by name, so a save only
+ * moves one player in the order, the top of the list or a range of scores is read without sorting, and the rank of a
+ * player and the percentile of a score are positions in the order, found without walking it. Each category
+ * has a {@link CategoryLeaderboard} of its best players, updated as category scores are saved. The points earned in
+ * each save are also counted in a {@link WindowedLeaderboard} per {@link TimeWindow}, which are kept in their own file.
+ * <p>
+ * Readers never see the leaderboards. After every save the manager builds an immutable {@link LeaderboardSnapshot} and
+ * publishes it through a volatile reference, so any number of threads read a consistent version without locks while a
+ * save is applied. The trees never change either, a save makes new versions that share all but a few nodes with the
+ * old ones, so the snapshot takes them as they are and publishing costs the save no more than the best players of the
+ * categories and time windows it touches. Saves are serialised by a lock that readers never wait for.
+ * <p>
+ * The whole application shares one manager, see {@link #getInstance()}. A save only changes the stats in memory and
+ * queues what changed; a background thread appends the queued changes to a {@link StatsJournal} once the flush
+ * interval has passed, so a save costs a few dozen bytes of I/O however many players there are. The interval is read
+ * from the system property {@value #FLUSH_INTERVAL_PROPERTY} in milliseconds, and whatever is still queued is written
+ * when the JVM shuts down.
+ * <p>
+ * The same thread compacts the journal every {@value #COMPACT_INTERVAL_PROPERTY} milliseconds, or sooner once it grows
+ * past {@value #COMPACT_THRESHOLD_BYTES} bytes: it writes the stats file from the latest snapshot and the time window
+ * file from a second set of time windows that only this thread keeps, fed with the same changes it writes to the
+ * journal, so nothing is serialised while saves wait, and then empties the journal. Both files end with the sequence
+ * number of the last change they contain, and on start the journal is replayed on top of them from that number on, so a
+ * crash in the middle of a compaction never applies a change twice.
+ */
 public class HighscoreManager {
 
-    private static final String STATS_FILE = "data/player_stats.ser";
-    private List<PlayerStats> playerStatsList;
+    public static final String STATS_FILE = "data/player_stats.ser";
+    public static final String WINDOWS_FILE = "data/score_windows.ser";
+    public static final String JOURNAL_FILE = "data/player_stats.journal";
+    public static final int CATEGORY_LEADERBOARD_SIZE = 10;
+    public static final int WINDOW_LEADERBOARD_SIZE = 100;
+    public static final String FLUSH_INTERVAL_PROPERTY = "hangman.stats.flushMillis";
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 2000;
+    public static final String COMPACT_INTERVAL_PROPERTY = "hangman.stats.compactMillis";
+    public static final long DEFAULT_COMPACT_INTERVAL_MILLIS = 60_000;
+    public static final long COMPACT_THRESHOLD_BYTES = 1 << 20;
 
-    public HighscoreManager() {
-        playerStatsList = new ArrayList<>();
-        loadPlayerStats();
+    private static volatile HighscoreManager instance;
+
+    private RankTree<PlayerStats> playersByName = new RankTree<>(LeaderboardSnapshot.BY_NAME);
+    private RankTree<PlayerStats> ranking = new RankTree<>(Comparator.naturalOrder());
+    private final Map<String, CategoryLeaderboard> categoryLeaderboards = new TreeMap<>();
+    private final Map<TimeWindow, WindowedLeaderboard> windowedLeaderboards;
+    // Kopija prozora koju dira samo pisač, pod flushLock, pa se sprema bez zaključavanja spremanja
+    private final Map<TimeWindow, WindowedLeaderboard> storedWindows;
+    private final Set<String> changedCategories = new HashSet<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile LeaderboardSnapshot snapshot;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService writer;
+    private final Object flushLock = new Object();
+    private List<StatsJournal.Delta> pendingDeltas = new ArrayList<>();
+    private long sequence;
+    private boolean flushScheduled;
+    private StatsJournal journal;
+
+    private HighscoreManager(long flushIntervalMillis, long compactIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+        Path journalFile = Paths.get(JOURNAL_FILE);
+        List<StatsJournal.Delta> deltas = readJournal(journalFile);
+        loadPlayerStats(deltas);
+        StoredWindows stored = readWindows(Paths.get(WINDOWS_FILE), deltas);
+        windowedLeaderboards = stored.windows;
+        storedWindows = readWindows(Paths.get(WINDOWS_FILE), deltas).windows;
+        sequence = Math.max(sequence, stored.fileSequence);
+        for (StatsJournal.Delta delta : deltas) {
+            sequence = Math.max(sequence, delta.getSequence());
+        }
+        publish();
+        try {
+            journal = new StatsJournal(journalFile);
+        } catch (IOException e) {
+            // Bez dnevnika se svaka promjena zapisuje sažimanjem
+            e.printStackTrace();
+        }
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::compactIfJournaled, compactIntervalMillis, compactIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "stats-flush"));
+    }
+
+    /**
+     * Gets the manager shared by the whole application, loading the stats on first use.
+     *
+     * @return the manager
+     */
+    public static HighscoreManager getInstance() {
+        HighscoreManager current = instance;
+        if (current == null) {
+            synchronized (HighscoreManager.class) {
+                if (instance == null) {
+                    instance = new HighscoreManager(Long.getLong(FLUSH_INTERVAL_PROPERTY, DEFAULT_FLUSH_INTERVAL_MILLIS),
+                            Long.getLong(COMPACT_INTERVAL_PROPERTY, DEFAULT_COMPACT_INTERVAL_MILLIS));
+                }
+                current = instance;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reads a stats file as it is on disk, with the journal next to it replayed, but without the saves that are still
+     * waiting to be written. This is meant for other processes that watch the files; in the process that plays, use
+     * {@link #getPlayerStatsList()}.
+     *
+     * @param file the stats file
+     * @return a new list of the players, from the highest score down
+     */
+    public static List<PlayerStats> readStatsFile(Path file) {
+        List<PlayerStats> playerStatsList = new ArrayList<>(readPlayers(file, readJournal(journalFor(file))).players.values());
+        Collections.sort(playerStatsList);
+        return playerStatsList;
+    }
+
+    /**
+     * Gets the journal that belongs to a stats file.
+     *
+     * @param statsFile the stats file
+     * @return the journal next to it
+     */
+    public static Path journalFor(Path statsFile) {
+        String name = statsFile.getFileName().toString();
+        return statsFile.resolveSibling(name.replaceFirst("\\.ser$", "") + ".journal");
     }
 
-    private void loadPlayerStats() {
-        File file = new File(STATS_FILE);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(STATS_FILE))) {
-                playerStatsList = (List<PlayerStats>) ois.readObject();
+    private static List<StatsJournal.Delta> readJournal(Path file) {
+        try {
+            return StatsJournal.read(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Reads the players from a stats file and applies the changes of the journal that the file does not contain yet.
+     */
+    private static StoredStats readPlayers(Path file, List<StatsJournal.Delta> deltas) {
+        StoredStats stored = new StoredStats();
+        if (Files.exists(file)) {
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                for (PlayerStats stats : (List<PlayerStats>) ois.readObject()) {
+                    stored.players.putIfAbsent(stats.getPlayerName(), stats);
+                }
+                stored.fileSequence = readSequence(ois);
             } catch (IOException | ClassNotFoundException e) {
                 e.printStackTrace();
             }
-        } else {
+        }
+        for (StatsJournal.Delta delta : deltas) {
+            if (delta.getSequence() > stored.fileSequence) {
+                stored.players.put(delta.getPlayerName(), delta.applyTo(stored.players.get(delta.getPlayerName())));
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * The players read from a stats file and its journal, and the sequence number of the last change in the file.
+     */
+    private static class StoredStats {
+        private final Map<String, PlayerStats> players = new HashMap<>();
+        private long fileSequence;
+    }
+
+    /**
+     * Reads the sequence number written after the object of a stats file. Files written before the journal existed
+     * have none and contain no change of the journal.
+     */
+    private static long readSequence(ObjectInputStream ois) throws IOException {
+        try {
+            return ois.readLong();
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    private void loadPlayerStats(List<StatsJournal.Delta> deltas) {
+        if (!new File(STATS_FILE).exists()) {
             System.out.println("Serialized file not found. Initializing empty player stats list.");
-            playerStatsList = new ArrayList<>();
+        }
+        StoredStats stored = readPlayers(Paths.get(STATS_FILE), deltas);
+        sequence = Math.max(sequence, stored.fileSequence);
+        for (PlayerStats stats : stored.players.values()) {
+            playersByName = playersByName.add(stats);
+            ranking = ranking.add(stats);
+            updateCategoryLeaderboards(stats, Collections.emptyMap());
+        }
+    }
+
+    /**
+     * Reads the time windows from their file and records the changes of the journal that the file does not contain
+     * yet. Windows missing from the file start empty.
+     */
+    private static StoredWindows readWindows(Path file, List<StatsJournal.Delta> deltas) {
+        StoredWindows stored = new StoredWindows();
+        if (Files.exists(file)) {
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                Object windows = ois.readObject();
+                if (windows instanceof Map) {
+                    for (Object leaderboard : ((Map<?, ?>) windows).values()) {
+                        if (leaderboard instanceof WindowedLeaderboard) {
+                            WindowedLeaderboard windowed = (WindowedLeaderboard) leaderboard;
+                            stored.windows.put(windowed.getWindow(), windowed);
+                        }
+                    }
+                }
+                stored.fileSequence = readSequence(ois);
+            } catch (IOException | ClassNotFoundException e) {
+                e.printStackTrace();
+            }
+        }
+        for (TimeWindow window : TimeWindow.values()) {
+            if (window != TimeWindow.ALL_TIME) {
+                stored.windows.computeIfAbsent(window, w -> new WindowedLeaderboard(w, WINDOW_LEADERBOARD_SIZE));
+            }
+        }
+        for (StatsJournal.Delta delta : deltas) {
+            if (delta.getSequence() > stored.fileSequence) {
+                recordWindows(stored.windows, delta);
+            }
+        }
+        return stored;
+    }
+
+    /**
+     * The time windows read from their file and its journal, and the sequence number of the last change in the file.
+     */
+    private static class StoredWindows {
+        private final Map<TimeWindow, WindowedLeaderboard> windows = new EnumMap<>(TimeWindow.class);
+        private long fileSequence;
+    }
+
+    private static void recordWindows(Map<TimeWindow, WindowedLeaderboard> windows, StatsJournal.Delta delta) {
+        for (WindowedLeaderboard leaderboard : windows.values()) {
+            leaderboard.record(delta.getPlayerName(), delta.getScoreDelta(), delta.getTimeMillis());
         }
     }
 
+    /**
+     * Records the totals of a player. Readers see the new totals as soon as this returns; the change is appended to the
+     * journal later by the background writer.
+     *
+     * @param playerName      the name of the player
+     * @param score           the total score
+     * @param wordsGuessed    the total number of words guessed
+     * @param gamesPlayed     the total number of games played
+     * @param categoryScores  the score in each category, which is copied
+     * @param currentCategory the category being played, recorded with score 0 if the player has none in it yet
+     */
     public void savePlayerStats(String playerName, int score, int wordsGuessed, int gamesPlayed,
                                 Map<String, Integer> categoryScores, String currentCategory) {
-        boolean found = false;
-        for (PlayerStats stats : playerStatsList) {
-            if (stats.getPlayerName().equals(playerName)) {
-                stats.updateStats(score, wordsGuessed, gamesPlayed, categoryScores);
-                found = true;
-                break;
+        // Kopija, jer igra nastavlja mijenjati svoju mapu, a objavljeni podaci se ne smiju mijenjati
+        Map<String, Integer> savedCategoryScores = new HashMap<>(categoryScores);
+        savedCategoryScores.putIfAbsent(currentCategory, 0);
+        PlayerStats stats = new PlayerStats(playerName, score, wordsGuessed, gamesPlayed,
+                Collections.unmodifiableMap(savedCategoryScores));
+        writeLock.lock();
+        try {
+            // Stari objekt i stara stabla ostaju nepromijenjeni u snimkama koje čitači još drže
+            PlayerStats oldStats = playersByName.find(stats);
+            playersByName = playersByName.add(stats);
+            Map<String, Integer> oldCategoryScores = Collections.emptyMap();
+            int oldScore = 0;
+            if (oldStats != null) {
+                ranking = ranking.remove(oldStats);
+                oldScore = oldStats.getScore();
+                oldCategoryScores = oldStats.getCategoryScores();
+            }
+            ranking = ranking.add(stats);
+            updateCategoryLeaderboards(stats, oldCategoryScores);
+            long now = System.currentTimeMillis();
+            for (WindowedLeaderboard leaderboard : windowedLeaderboards.values()) {
+                leaderboard.record(playerName, score - oldScore, now);
+            }
+            publish();
+            pendingDeltas.add(StatsJournal.Delta.between(++sequence, now, oldStats, stats));
+            if (!flushScheduled) {
+                // Sva spremanja do isteka intervala zapisuju se jednim pisanjem
+                flushScheduled = true;
+                writer.schedule(this::flush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves a player on the leaderboard of every category whose score changed.
+     */
+    private void updateCategoryLeaderboards(PlayerStats stats, Map<String, Integer> oldCategoryScores) {
+        for (Map.Entry<String, Integer> entry : stats.getCategoryScores().entrySet()) {
+            if (entry.getValue().equals(oldCategoryScores.get(entry.getKey()))) {
+                continue;
+            }
+            CategoryLeaderboard leaderboard = categoryLeaderboards.computeIfAbsent(entry.getKey(),
+                    category -> new CategoryLeaderboard(category, CATEGORY_LEADERBOARD_SIZE));
+            if (!leaderboard.update(stats.getPlayerName(), entry.getValue())) {
+                leaderboard.rebuild(ranking);
+            }
+            changedCategories.add(entry.getKey());
+        }
+    }
+
+    /**
+     * Builds a snapshot of the current stats and makes it the one readers see. The trees of the players are shared as
+     * they are, the category leaderboards that did not change are shared with the previous snapshot, and only the
+     * changed boards and the best players of each time window are copied. Must be called with the write lock held, or
+     * from the constructor.
+     */
+    private void publish() {
+        LeaderboardSnapshot previous = snapshot;
+        Map<String, List<LeaderboardEntry>> categories = new TreeMap<>();
+        if (previous != null) {
+            for (String category : previous.getCategories()) {
+                categories.put(category, previous.getCategoryLeaderboard(category));
+            }
+        }
+        for (String category : previous == null ? categoryLeaderboards.keySet() : changedCategories) {
+            categories.put(category, Collections.unmodifiableList(categoryLeaderboards.get(category).getEntries()));
+        }
+        changedCategories.clear();
+
+        long now = System.currentTimeMillis();
+        Map<TimeWindow, List<LeaderboardEntry>> windows = new EnumMap<>(TimeWindow.class);
+        for (WindowedLeaderboard leaderboard : windowedLeaderboards.values()) {
+            windows.put(leaderboard.getWindow(),
+                    Collections.unmodifiableList(leaderboard.getTopPlayers(WINDOW_LEADERBOARD_SIZE, now)));
+        }
+        long windowsExpire = (Math.floorDiv(now, WindowedLeaderboard.MILLIS_PER_HOUR) + 1)
+                * WindowedLeaderboard.MILLIS_PER_HOUR;
+
+        snapshot = new LeaderboardSnapshot(previous == null ? 1 : previous.getVersion() + 1, windowsExpire,
+                ranking, playersByName, categories, windows);
+    }
+
+    /**
+     * Appends the queued changes to the journal, and compacts it if it has grown too large. Changes are taken from the
+     * queue under the write lock, so saves never wait for the disk.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            List<StatsJournal.Delta> deltas;
+            writeLock.lock();
+            try {
+                flushScheduled = false;
+                if (pendingDeltas.isEmpty()) {
+                    return;
+                }
+                deltas = pendingDeltas;
+                pendingDeltas = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+            for (StatsJournal.Delta delta : deltas) {
+                recordWindows(storedWindows, delta);
+            }
+            if (journal == null) {
+                compact();
+                return;
+            }
+            try {
+                journal.append(deltas);
+                if (journal.size() > COMPACT_THRESHOLD_BYTES) {
+                    compact();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                // Promjene su u memoriji, pa ih sažimanje ipak zapisuje
+                compact();
+            }
+        }
+    }
+
+    private void compactIfJournaled() {
+        flush();
+        try {
+            if (journal != null && !journal.isEmpty()) {
+                compact();
             }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        if (!found) {
-            playerStatsList.add(new PlayerStats(playerName, score, wordsGuessed, gamesPlayed, categoryScores));
+    }
+
+    /**
+     * Folds the journal into the stats files. Under the write lock only the latest snapshot, its sequence number and
+     * the queued changes are taken; the queued changes are recorded in the writer's own time windows, which then match
+     * the snapshot, and both are serialised after the lock is released. Each file is written next to the old one and
+     * then moved over it, so a reader never sees it half written, and the journal is emptied only after both files are
+     * in place. If writing fails, the queued changes are appended to the journal instead.
+     */
+    public void compact() {
+        synchronized (flushLock) {
+            LeaderboardSnapshot current;
+            long compactedSequence;
+            List<StatsJournal.Delta> deltas;
+            writeLock.lock();
+            try {
+                current = snapshot;
+                compactedSequence = sequence;
+                deltas = pendingDeltas;
+                pendingDeltas = new ArrayList<>();
+            } finally {
+                writeLock.unlock();
+            }
+            for (StatsJournal.Delta delta : deltas) {
+                recordWindows(storedWindows, delta);
+            }
+            try {
+                replaceFile(Paths.get(STATS_FILE), serialize(new ArrayList<>(current.getPlayers()), compactedSequence));
+                replaceFile(Paths.get(WINDOWS_FILE), serialize(storedWindows, compactedSequence));
+                if (journal != null) {
+                    journal.clear();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                appendToJournal(deltas);
+            }
         }
-        categoryScores.putIfAbsent(currentCategory, 0);
-        savePlayerStatsToFile();
     }
 
-    private void savePlayerStatsToFile() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(STATS_FILE))) {
-            oos.writeObject(playerStatsList);
+    private void appendToJournal(List<StatsJournal.Delta> deltas) {
+        if (journal == null || deltas.isEmpty()) {
+            return;
+        }
+        try {
+            journal.append(deltas);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    private static byte[] serialize(Object object, long sequence) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(object);
+            oos.writeLong(sequence);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void replaceFile(Path file, byte[] content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temporary, content);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets the current version of the stats. The snapshot never changes, so a reader that needs several answers from
+     * the same version should keep it rather than ask the manager again. Once the hour of the time window leaderboards
+     * has passed, a new snapshot is published, unless a save is running, which publishes one itself.
+     *
+     * @return the latest published snapshot
+     */
+    public LeaderboardSnapshot getSnapshot() {
+        LeaderboardSnapshot current = snapshot;
+        if (System.currentTimeMillis() >= current.getWindowsExpireMillis() && writeLock.tryLock()) {
+            try {
+                publish();
+                current = snapshot;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Gets the stats of every player, ordered from the highest score down.
+     *
+     * @return an unmodifiable list of the players
+     */
     public List<PlayerStats> getPlayerStatsList() {
-        return playerStatsList;
+        return getSnapshot().getPlayers();
+    }
+
+    /**
+     * Gets the stats of one player.
+     *
+     * @param playerName the name of the player
+     * @return the stats, or null if the player has none
+     */
+    public PlayerStats getPlayerStats(String playerName) {
+        return getSnapshot().getPlayer(playerName);
+    }
+
+    public int getPlayerCount() {
+        return getSnapshot().getPlayerCount();
+    }
+
+    /**
+     * Gets the players with the highest scores.
+     *
+     * @param count the number of players
+     * @return up to count players, from the highest score down
+     */
+    public List<PlayerStats> getTopPlayers(int count) {
+        return getSnapshot().getTopPlayers(count);
+    }
+
+    /**
+     * Gets the players whose score lies in a range.
+     *
+     * @param minScore the lowest score, inclusive
+     * @param maxScore the highest score, inclusive
+     * @return the players in the range, from the highest score down
+     */
+    public List<PlayerStats> getPlayersInRange(int minScore, int maxScore) {
+        return getSnapshot().getPlayersInRange(minScore, maxScore);
+    }
+
+    /**
+     * Gets the rank of a player. Players with the same score share a rank.
+     *
+     * @param playerName the name of the player
+     * @return the rank starting at 1, or 0 if the player has no stats
+     */
+    public int getRank(String playerName) {
+        return getSnapshot().getRank(playerName);
+    }
+
+    /**
+     * Gets the share of players with a lower score than the given one.
+     *
+     * @param score the score
+     * @return the percentile between 0 and 100
+     */
+    public double getPercentile(int score) {
+        return getSnapshot().getPercentile(score);
+    }
+
+    /**
+     * Gets a player together with the players just above and just below them in the order.
+     *
+     * @param playerName the name of the player
+     * @param count      the number of players to take on each side
+     * @return the players from the highest score down, or an empty list if the player has no stats
+     */
+    public List<PlayerStats> getPlayersAround(String playerName, int count) {
+        return getSnapshot().getPlayersAround(playerName, count);
+    }
+
+    /**
+     * Gets the categories in which at least one player has a score.
+     *
+     * @return the category names, sorted
+     */
+    public List<String> getCategories() {
+        return getSnapshot().getCategories();
+    }
+
+    /**
+     * Gets the best players of a category.
+     *
+     * @param category the category
+     * @return up to {@value #CATEGORY_LEADERBOARD_SIZE} players, from the highest category score down
+     */
+    public List<LeaderboardEntry> getCategoryLeaderboard(String category) {
+        return getSnapshot().getCategoryLeaderboard(category);
+    }
+
+    /**
+     * Gets the players with the most points in a time window.
+     *
+     * @param window the window; {@link TimeWindow#ALL_TIME} ranks by total score
+     * @param count  the number of players, at most {@value #WINDOW_LEADERBOARD_SIZE} for the other windows
+     * @return up to count players, from the most points down
+     */
+    public List<LeaderboardEntry> getTopPlayers(TimeWindow window, int count) {
+        return getSnapshot().getTopPlayers(window, count);
     }
 }
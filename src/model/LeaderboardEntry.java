@@ -0,0 +1,34 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * One player on a leaderboard, with the score the leaderboard ranks them by.
+ */
+public class LeaderboardEntry implements Serializable, Comparable<LeaderboardEntry> {
+    private static final long serialVersionUID = 1L;
+    private final String playerName;
+    private final int score;
+
+    public LeaderboardEntry(String playerName, int score) {
+        this.playerName = playerName;
+        this.score = score;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Orders entries from the highest score down, and entries with the same score by name.
+     */
+    @Override
+    public int compareTo(LeaderboardEntry other) {
+        int byScore = Integer.compare(other.score, this.score);
+        return byScore != 0 ? byScore : playerName.compareTo(other.playerName);
+    }
+}
@@ -0,0 +1,206 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is one published version of the stats kept by a {@link HighscoreManager}. A snapshot never changes after
+ * it is published: a save builds a new one and swaps it in, so a reader that holds a snapshot sees every query answered
+ * from the same version without taking a lock, however many saves happen meanwhile. The players are held in
+ * {@link RankTree}s that share their nodes with the other versions, so a snapshot costs a save a few new nodes rather
+ * than a copy of every player. Ranks and percentiles are positions in the score order.
+ * <p>
+ * The time window leaderboards are taken when the snapshot is built and stay correct until the next hour starts,
+ * because points only leave a window on the hour.
+ */
+public final class LeaderboardSnapshot {
+    /**
+     * Orders players by name, for the tree that finds a player by name.
+     */
+    static final Comparator<PlayerStats> BY_NAME = Comparator.comparing(PlayerStats::getPlayerName);
+
+    private final long version;
+    private final long windowsExpireMillis;
+    private final RankTree<PlayerStats> players;
+    private final RankTree<PlayerStats> playersByName;
+    private final Map<String, List<LeaderboardEntry>> categoryLeaderboards;
+    private final Map<TimeWindow, List<LeaderboardEntry>> windowLeaderboards;
+
+    /**
+     * Constructs a snapshot. The maps are taken over, so the caller must not keep changing them.
+     *
+     * @param version              the number of the version, higher for later versions
+     * @param windowsExpireMillis  the time at which the window leaderboards stop being correct
+     * @param players              the players, from the highest score down
+     * @param playersByName        the players ordered by {@link #BY_NAME}
+     * @param categoryLeaderboards the best players of every category
+     * @param windowLeaderboards   the best players of every time window except {@link TimeWindow#ALL_TIME}
+     */
+    LeaderboardSnapshot(long version, long windowsExpireMillis, RankTree<PlayerStats> players,
+                        RankTree<PlayerStats> playersByName, Map<String, List<LeaderboardEntry>> categoryLeaderboards,
+                        Map<TimeWindow, List<LeaderboardEntry>> windowLeaderboards) {
+        this.version = version;
+        this.windowsExpireMillis = windowsExpireMillis;
+        this.players = players;
+        this.playersByName = playersByName;
+        this.categoryLeaderboards = Collections.unmodifiableMap(categoryLeaderboards);
+        this.windowLeaderboards = Collections.unmodifiableMap(windowLeaderboards);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the time at which the time window leaderboards of this snapshot go out of date.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getWindowsExpireMillis() {
+        return windowsExpireMillis;
+    }
+
+    /**
+     * Gets the stats of every player, ordered from the highest score down.
+     *
+     * @return an unmodifiable list of the players
+     */
+    public List<PlayerStats> getPlayers() {
+        return players.asList();
+    }
+
+    /**
+     * Gets the stats of one player.
+     *
+     * @param playerName the name of the player
+     * @return the stats, or null if the player has none
+     */
+    public PlayerStats getPlayer(String playerName) {
+        return playersByName.find(probe(playerName, 0));
+    }
+
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * Gets the players with the highest scores.
+     *
+     * @param count the number of players
+     * @return up to count players, from the highest score down
+     */
+    public List<PlayerStats> getTopPlayers(int count) {
+        return getPlayers().subList(0, Math.min(count, players.size()));
+    }
+
+    /**
+     * Gets the players whose score lies in a range.
+     *
+     * @param minScore the lowest score, inclusive
+     * @param maxScore the highest score, inclusive
+     * @return the players in the range, from the highest score down
+     */
+    public List<PlayerStats> getPlayersInRange(int minScore, int maxScore) {
+        if (minScore > maxScore) {
+            return Collections.emptyList();
+        }
+        int from = countAbove(maxScore);
+        int to = minScore > Integer.MIN_VALUE ? countAbove(minScore - 1) : players.size();
+        return getPlayers().subList(from, to);
+    }
+
+    /**
+     * Counts the players with a higher score than the given one, which is also the position of the first player whose
+     * score is not higher.
+     */
+    private int countAbove(int score) {
+        // Prazno ime je prvo među igračima s istim rezultatom
+        return players.countLess(probe("", score));
+    }
+
+    private static PlayerStats probe(String playerName, int score) {
+        return new PlayerStats(playerName, score, 0, 0, Collections.emptyMap());
+    }
+
+    /**
+     * Gets the rank of a player. Players with the same score share a rank.
+     *
+     * @param playerName the name of the player
+     * @return the rank starting at 1, or 0 if the player has no stats
+     */
+    public int getRank(String playerName) {
+        PlayerStats stats = getPlayer(playerName);
+        return stats == null ? 0 : countAbove(stats.getScore()) + 1;
+    }
+
+    /**
+     * Gets the share of players with a lower score than the given one.
+     *
+     * @param score the score
+     * @return the percentile between 0 and 100
+     */
+    public double getPercentile(int score) {
+        if (players.size() == 0 || score == Integer.MIN_VALUE) {
+            return 0;
+        }
+        int below = players.size() - countAbove(score - 1);
+        return 100.0 * below / players.size();
+    }
+
+    /**
+     * Gets a player together with the players just above and just below them in the order.
+     *
+     * @param playerName the name of the player
+     * @param count      the number of players to take on each side
+     * @return the players from the highest score down, or an empty list if the player has no stats
+     */
+    public List<PlayerStats> getPlayersAround(String playerName, int count) {
+        PlayerStats stats = getPlayer(playerName);
+        if (stats == null) {
+            return Collections.emptyList();
+        }
+        int position = players.countLess(stats);
+        return getPlayers().subList(Math.max(0, position - count), Math.min(players.size(), position + count + 1));
+    }
+
+    /**
+     * Gets the categories in which at least one player has a score.
+     *
+     * @return the category names, sorted
+     */
+    public List<String> getCategories() {
+        return new ArrayList<>(categoryLeaderboards.keySet());
+    }
+
+    /**
+     * Gets the best players of a category.
+     *
+     * @param category the category
+     * @return the players, from the highest category score down
+     */
+    public List<LeaderboardEntry> getCategoryLeaderboard(String category) {
+        return categoryLeaderboards.getOrDefault(category, Collections.emptyList());
+    }
+
+    /**
+     * Gets the players with the most points in a time window.
+     *
+     * @param window the window; {@link TimeWindow#ALL_TIME} ranks by total score
+     * @param count  the number of players
+     * @return up to count players, from the most points down
+     */
+    public List<LeaderboardEntry> getTopPlayers(TimeWindow window, int count) {
+        if (window == TimeWindow.ALL_TIME) {
+            List<LeaderboardEntry> top = new ArrayList<>();
+            for (PlayerStats stats : getTopPlayers(count)) {
+                top.add(new LeaderboardEntry(stats.getPlayerName(), stats.getScore()));
+            }
+            return top;
+        }
+        List<LeaderboardEntry> leaders = windowLeaderboards.getOrDefault(window, Collections.emptyList());
+        return leaders.subList(0, Math.min(count, leaders.size()));
+    }
+}
@@ -57,8 +57,12 @@ public class PlayerStats implements PlayerStatsInterface, Serializable, Comparab
         this.categoryScores = newCategoryScores;
     }
 
+    /**
+     * Orders players from the highest score down, and players with the same score by name.
+     */
     @Override
     public int compareTo(PlayerStats other) {
-        return Integer.compare(other.score, this.score);
+        int byScore = Integer.compare(other.score, this.score);
+        return byScore != 0 ? byScore : playerName.compareTo(other.playerName);
     }
 }
@@ -0,0 +1,258 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class is an immutable sorted list kept in a treap whose nodes know the size of their subtree, so an element is
+ * found by its position, or the position of an element by the element, in logarithmic time.
+ * <p>
+ * Adding or removing an element gives a new tree and leaves this one as it is. Only the nodes on the path to the
+ * element are copied and every other node is shared, so a change costs a logarithmic number of new nodes however large
+ * the tree is, and any number of versions can be held at once.
+ *
+ * @param <E> the type of the elements
+ */
+public final class RankTree<E> implements Iterable<E> {
+    private final Comparator<? super E> comparator;
+    private final Node<E> root;
+
+    /**
+     * Constructs an empty tree.
+     *
+     * @param comparator the order of the elements; elements that compare equal replace each other
+     */
+    public RankTree(Comparator<? super E> comparator) {
+        this(comparator, null);
+    }
+
+    private RankTree(Comparator<? super E> comparator, Node<E> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an element, replacing the element that compares equal to it.
+     *
+     * @param element the element
+     * @return the tree with the element
+     */
+    public RankTree<E> add(E element) {
+        Split<E> below = split(root, element, false);
+        Split<E> equal = split(below.right, element, true);
+        Node<E> node = new Node<>(element, ThreadLocalRandom.current().nextInt(), null, null);
+        return new RankTree<>(comparator, merge(merge(below.left, node), equal.right));
+    }
+
+    /**
+     * Removes the element that compares equal to the given one.
+     *
+     * @param element the element
+     * @return the tree without the element, or this tree if it has no such element
+     */
+    public RankTree<E> remove(E element) {
+        if (find(element) == null) {
+            return this;
+        }
+        Split<E> below = split(root, element, false);
+        Split<E> equal = split(below.right, element, true);
+        return new RankTree<>(comparator, merge(below.left, equal.right));
+    }
+
+    /**
+     * Finds the element that compares equal to a probe.
+     *
+     * @param probe the probe
+     * @return the element, or null if there is none
+     */
+    public E find(E probe) {
+        Node<E> node = root;
+        while (node != null) {
+            int order = comparator.compare(probe, node.element);
+            if (order == 0) {
+                return node.element;
+            }
+            node = order < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Counts the elements ordered before a probe, which is the position the probe has or would have in the list.
+     *
+     * @param probe the probe
+     * @return the number of elements that compare less than the probe
+     */
+    public int countLess(E probe) {
+        int count = 0;
+        Node<E> node = root;
+        while (node != null) {
+            if (comparator.compare(node.element, probe) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Gets the element at a position.
+     *
+     * @param index the position, starting at 0
+     * @return the element
+     * @throws IndexOutOfBoundsException if the position is outside the tree
+     */
+    public E get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+        }
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.element;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Gets an unmodifiable view of the tree as a list, which reads by position in logarithmic time and iterates in
+     * linear time.
+     *
+     * @return the list of the elements in order
+     */
+    public List<E> asList() {
+        return new AbstractList<E>() {
+            @Override
+            public E get(int index) {
+                return RankTree.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return RankTree.this.size();
+            }
+
+            @Override
+            public Iterator<E> iterator() {
+                return RankTree.this.iterator();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Deque<Node<E>> path = new ArrayDeque<>();
+            private Node<E> next = root;
+
+            @Override
+            public boolean hasNext() {
+                return next != null || !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                while (next != null) {
+                    path.push(next);
+                    next = next.left;
+                }
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                next = node.right;
+                return node.element;
+            }
+        };
+    }
+
+    /**
+     * Splits a subtree into the elements before a probe and the rest, copying the nodes on the path to the probe.
+     */
+    private Split<E> split(Node<E> node, E probe, boolean inclusive) {
+        if (node == null) {
+            return new Split<>(null, null);
+        }
+        int order = comparator.compare(node.element, probe);
+        if (order < 0 || (inclusive && order == 0)) {
+            Split<E> right = split(node.right, probe, inclusive);
+            return new Split<>(node.with(node.left, right.left), right.right);
+        }
+        Split<E> left = split(node.left, probe, inclusive);
+        return new Split<>(left.left, node.with(left.right, node.right));
+    }
+
+    /**
+     * Joins two subtrees whose elements are all ordered before those of the second one.
+     */
+    private static <E> Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * A node of the treap. Nodes never change, so they are shared between versions of the tree.
+     */
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private final int size;
+        private final Node<E> left;
+        private final Node<E> right;
+
+        Node(E element, int priority, Node<E> left, Node<E> right) {
+            this.element = element;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            size = size(left) + size(right) + 1;
+        }
+
+        Node<E> with(Node<E> left, Node<E> right) {
+            return left == this.left && right == this.right ? this : new Node<>(element, priority, left, right);
+        }
+    }
+
+    /**
+     * The two halves of a split subtree.
+     */
+    private static final class Split<E> {
+        private final Node<E> left;
+        private final Node<E> right;
+
+        Split(Node<E> left, Node<E> right) {
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
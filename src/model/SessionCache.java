@@ -0,0 +1,205 @@
+package model;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class bounds how many game sessions keep their engine in memory. Sessions that have been idle longer than a
+ * timeout are passivated to disk, and when there are more resident sessions than allowed, or the heap is fuller than
+ * the budget, the least recently used sessions are passivated until the cache is back within its limits. A passivated
+ * session is read back on its next operation.
+ * <p>
+ * Recency comes from the last access time of each session, so using a session never takes a shared lock; the
+ * ordering is only computed when an eviction pass runs.
+ */
+public class SessionCache {
+    private final Path directory;
+    private final int maxResidentSessions;
+    private final long idleTimeoutNanos;
+    private final double heapBudget;
+
+    private final AtomicInteger residentSessions = new AtomicInteger();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder activations = new LongAdder();
+    private final LongAdder passivations = new LongAdder();
+    private final LongAdder passivationNanos = new LongAdder();
+    private volatile long maxPassivationNanos;
+
+    /**
+     * Constructs a cache with the default limits: at most 10 000 resident sessions, passivation after 15 minutes of
+     * inactivity and a heap budget of 80 %. Passivated sessions go to data/sessions.
+     */
+    public SessionCache() {
+        this(Paths.get("data", "sessions"), 10_000, TimeUnit.MINUTES.toMillis(15), 0.8);
+    }
+
+    /**
+     * Constructs a cache.
+     *
+     * @param directory           the directory for passivated sessions
+     * @param maxResidentSessions the number of sessions that may keep their engine in memory
+     * @param idleTimeoutMillis   the idle time after which a session is passivated
+     * @param heapBudget          the fraction of the maximum heap above which sessions are passivated
+     */
+    public SessionCache(Path directory, int maxResidentSessions, long idleTimeoutMillis, double heapBudget) {
+        this.directory = directory;
+        this.maxResidentSessions = maxResidentSessions;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.heapBudget = heapBudget;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos);
+    }
+
+    /**
+     * Checks whether an eviction pass should run because of the number of resident sessions.
+     *
+     * @return true if there are more resident sessions than allowed
+     */
+    boolean isOverCapacity() {
+        return residentSessions.get() > maxResidentSessions;
+    }
+
+    /**
+     * Passivates idle sessions and, if the cache is over its limits, the least recently used resident sessions.
+     *
+     * @param sessions all sessions of the manager
+     */
+    void evict(Collection<GameSession> sessions) {
+        long now = System.nanoTime();
+        List<GameSession> resident = new ArrayList<>();
+        for (GameSession session : sessions) {
+            if (!session.isResident()) {
+                continue;
+            }
+            if (now - session.getLastAccess() > idleTimeoutNanos) {
+                session.passivate(session.getLastAccess());
+            } else {
+                resident.add(session);
+            }
+        }
+        int excess = resident.size() - maxResidentSessions;
+        if (isOverHeapBudget()) {
+            excess = Math.max(excess, resident.size() / 4);
+        }
+        if (excess <= 0) {
+            return;
+        }
+        // Najdulje nekorištene sesije idu prve
+        resident.sort(Comparator.comparingLong(GameSession::getLastAccess));
+        for (int i = 0; i < excess; i++) {
+            GameSession session = resident.get(i);
+            session.passivate(session.getLastAccess());
+        }
+    }
+
+    private boolean isOverHeapBudget() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return used > runtime.maxMemory() * heapBudget;
+    }
+
+    void passivate(GameSession session, GameEngine engine) {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(getFile(session))))) {
+                oos.writeObject(engine);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long elapsed = System.nanoTime() - start;
+        passivations.increment();
+        passivationNanos.add(elapsed);
+        if (elapsed > maxPassivationNanos) {
+            maxPassivationNanos = elapsed;
+        }
+    }
+
+    GameEngine activate(GameSession session) {
+        Path file = getFile(session);
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            GameEngine engine = (GameEngine) ois.readObject();
+            activations.increment();
+            Files.deleteIfExists(file);
+            return engine;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    void discard(GameSession session) {
+        try {
+            Files.deleteIfExists(getFile(session));
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void residentChanged(boolean resident) {
+        if (resident) {
+            residentSessions.incrementAndGet();
+        } else {
+            residentSessions.decrementAndGet();
+        }
+    }
+
+    private Path getFile(GameSession session) {
+        return directory.resolve(session.getId() + ".ser");
+    }
+
+    public int getResidentSessions() {
+        return residentSessions.get();
+    }
+
+    public long getPassivations() {
+        return passivations.sum();
+    }
+
+    public long getActivations() {
+        return activations.sum();
+    }
+
+    /**
+     * Gets the share of operations that found their engine in memory.
+     *
+     * @return the hit rate between 0 and 1, or 1 if nothing has run yet
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + activations.sum();
+        return total == 0 ? 1 : (double) hitCount / total;
+    }
+
+    /**
+     * Gets the average time it took to write a passivated session.
+     *
+     * @return the average passivation latency in milliseconds
+     */
+    public double getAveragePassivationMillis() {
+        long count = passivations.sum();
+        return count == 0 ? 0 : passivationNanos.sum() / 1e6 / count;
+    }
+
+    public double getMaxPassivationMillis() {
+        return maxPassivationNanos / 1e6;
+    }
+}
@@ -0,0 +1,389 @@
+package model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * This class appends the changes to player stats to a binary journal, so a save writes only what changed instead of
+ * the whole stats file. The {@link HighscoreManager} replays the journal on top of the last stats file when it starts
+ * and folds it into a new stats file from time to time.
+ * <p>
+ * The journal starts with the magic number and the format version. Each record is its length as a variable-length
+ * number, the record itself and a CRC-32 of it. A record holds the sequence number of the change, the time it was made,
+ * the player name, the changes of the score, the words guessed and the games played, the changes of the category scores
+ * and the categories that were removed. Numbers are written as variable-length numbers, signed ones zigzag encoded,
+ * so a typical record takes a few dozen bytes. A record cut short by a crash fails its length or its checksum; it and
+ * anything after it are ignored when reading and cut off when the journal is opened for writing.
+ */
+public class StatsJournal implements Closeable {
+    static final int MAGIC = 0x48474A4C;
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 5;
+
+    private final FileChannel channel;
+
+    /**
+     * Opens a journal for appending, creating it if it does not exist yet.
+     *
+     * @param file the journal file
+     * @throws IOException if the file cannot be opened or is not a journal
+     */
+    public StatsJournal(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validLength = parse(readAll(channel), file, null);
+        if (validLength < channel.size()) {
+            // Zapis prekinut padom programa se odbacuje
+            channel.truncate(validLength);
+        }
+        if (validLength == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put((byte) FORMAT_VERSION);
+            header.flip();
+            channel.position(0);
+            writeFully(header);
+            channel.force(false);
+        }
+        channel.position(channel.size());
+    }
+
+    /**
+     * Reads every complete record of a journal.
+     *
+     * @param file the journal file
+     * @return the records in the order they were written, or an empty list if there is no journal
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static List<Delta> read(Path file) throws IOException {
+        List<Delta> deltas = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            parse(readAll(in), file, deltas);
+        } catch (NoSuchFileException e) {
+            // Bez dnevnika nema ni promjena
+        }
+        return deltas;
+    }
+
+    /**
+     * Appends records and forces them to the disk.
+     *
+     * @param deltas the records to append
+     * @throws IOException if the records cannot be written
+     */
+    public synchronized void append(List<Delta> deltas) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(deltas.size() * 48);
+        CRC32 crc = new CRC32();
+        for (Delta delta : deltas) {
+            byte[] record = delta.encode();
+            writeVarLong(bytes, record.length);
+            bytes.write(record);
+            crc.reset();
+            crc.update(record);
+            int checksum = (int) crc.getValue();
+            bytes.write(checksum >>> 24);
+            bytes.write(checksum >>> 16);
+            bytes.write(checksum >>> 8);
+            bytes.write(checksum);
+        }
+        writeFully(ByteBuffer.wrap(bytes.toByteArray()));
+        channel.force(false);
+    }
+
+    /**
+     * Drops every record, once they are all contained in a stats file.
+     *
+     * @throws IOException if the journal cannot be truncated
+     */
+    public synchronized void clear() throws IOException {
+        channel.truncate(HEADER_SIZE);
+        channel.position(HEADER_SIZE);
+        channel.force(false);
+    }
+
+    /**
+     * Gets the size of the journal.
+     *
+     * @return the number of bytes, including the header
+     * @throws IOException if the size cannot be read
+     */
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Checks whether the journal has any records.
+     *
+     * @return true if there is nothing to fold into the stats file
+     * @throws IOException if the size cannot be read
+     */
+    public boolean isEmpty() throws IOException {
+        return size() <= HEADER_SIZE;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readAll(FileChannel in) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) in.size());
+        in.position(0);
+        while (buffer.hasRemaining() && in.read(buffer) >= 0) {
+            // Čita se dok se međuspremnik ne napuni
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Walks the records of a journal, collecting them if a list is given.
+     *
+     * @return the length of the journal up to the end of the last complete record
+     */
+    private static long parse(ByteBuffer buffer, Path file, List<Delta> deltas) throws IOException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return 0;
+        }
+        if (buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) {
+            throw new IOException(file + " is not a stats journal");
+        }
+        CRC32 crc = new CRC32();
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            long length = readVarLong(buffer);
+            if (length < 0 || length > buffer.remaining() - 4) {
+                buffer.position(start);
+                break;
+            }
+            byte[] record = new byte[(int) length];
+            buffer.get(record);
+            crc.reset();
+            crc.update(record);
+            if (buffer.getInt() != (int) crc.getValue()) {
+                buffer.position(start);
+                break;
+            }
+            if (deltas != null) {
+                deltas.add(Delta.decode(record));
+            }
+        }
+        return buffer.position();
+    }
+
+    /**
+     * Reads a variable-length number from a buffer.
+     *
+     * @return the number, or -1 if the buffer ends first
+     */
+    private static long readVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64 && buffer.hasRemaining(); shift += 7) {
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * One change to the stats of a player.
+     */
+    public static class Delta {
+        private final long sequence;
+        private final long timeMillis;
+        private final String playerName;
+        private final int scoreDelta;
+        private final int wordsGuessedDelta;
+        private final int gamesPlayedDelta;
+        private final Map<String, Integer> categoryDeltas;
+        private final List<String> removedCategories;
+
+        /**
+         * Constructs a change.
+         *
+         * @param sequence          the number of the change, higher for later changes
+         * @param timeMillis        the time of the change in milliseconds since the epoch
+         * @param playerName        the name of the player
+         * @param scoreDelta        the change of the score
+         * @param wordsGuessedDelta the change of the number of words guessed
+         * @param gamesPlayedDelta  the change of the number of games played
+         * @param categoryDeltas    the change of the score of every category that changed or is new
+         * @param removedCategories the categories the player no longer has a score in
+         */
+        public Delta(long sequence, long timeMillis, String playerName, int scoreDelta, int wordsGuessedDelta,
+                     int gamesPlayedDelta, Map<String, Integer> categoryDeltas, List<String> removedCategories) {
+            this.sequence = sequence;
+            this.timeMillis = timeMillis;
+            this.playerName = playerName;
+            this.scoreDelta = scoreDelta;
+            this.wordsGuessedDelta = wordsGuessedDelta;
+            this.gamesPlayedDelta = gamesPlayedDelta;
+            this.categoryDeltas = categoryDeltas;
+            this.removedCategories = removedCategories;
+        }
+
+        /**
+         * Describes the change from one version of the stats of a player to the next.
+         *
+         * @param sequence   the number of the change
+         * @param timeMillis the time of the change in milliseconds since the epoch
+         * @param before     the stats before the change, or null for a new player
+         * @param after      the stats after the change
+         * @return the change
+         */
+        public static Delta between(long sequence, long timeMillis, PlayerStats before, PlayerStats after) {
+            Map<String, Integer> oldCategoryScores = before == null ? Collections.emptyMap() : before.getCategoryScores();
+            Map<String, Integer> categoryDeltas = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : after.getCategoryScores().entrySet()) {
+                Integer oldScore = oldCategoryScores.get(entry.getKey());
+                if (oldScore == null || !oldScore.equals(entry.getValue())) {
+                    categoryDeltas.put(entry.getKey(), entry.getValue() - (oldScore == null ? 0 : oldScore));
+                }
+            }
+            List<String> removedCategories = new ArrayList<>();
+            for (String category : oldCategoryScores.keySet()) {
+                if (!after.getCategoryScores().containsKey(category)) {
+                    removedCategories.add(category);
+                }
+            }
+            return new Delta(sequence, timeMillis, after.getPlayerName(),
+                    after.getScore() - (before == null ? 0 : before.getScore()),
+                    after.getWordsGuessed() - (before == null ? 0 : before.getWordsGuessed()),
+                    after.getGamesPlayed() - (before == null ? 0 : before.getGamesPlayed()),
+                    categoryDeltas, removedCategories);
+        }
+
+        /**
+         * Applies the change to the stats of the player.
+         *
+         * @param before the stats before the change, or null for a new player
+         * @return new stats with the change applied
+         */
+        public PlayerStats applyTo(PlayerStats before) {
+            Map<String, Integer> categoryScores = before == null ? new HashMap<>()
+                    : new HashMap<>(before.getCategoryScores());
+            for (Map.Entry<String, Integer> entry : categoryDeltas.entrySet()) {
+                categoryScores.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+            for (String category : removedCategories) {
+                categoryScores.remove(category);
+            }
+            return new PlayerStats(playerName,
+                    scoreDelta + (before == null ? 0 : before.getScore()),
+                    wordsGuessedDelta + (before == null ? 0 : before.getWordsGuessed()),
+                    gamesPlayedDelta + (before == null ? 0 : before.getGamesPlayed()),
+                    Collections.unmodifiableMap(categoryScores));
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public int getScoreDelta() {
+            return scoreDelta;
+        }
+
+        private byte[] encode() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeVarLong(bytes, sequence);
+            writeVarLong(bytes, timeMillis);
+            out.writeUTF(playerName);
+            writeVarLong(bytes, zigzag(scoreDelta));
+            writeVarLong(bytes, zigzag(wordsGuessedDelta));
+            writeVarLong(bytes, zigzag(gamesPlayedDelta));
+            writeVarLong(bytes, categoryDeltas.size());
+            for (Map.Entry<String, Integer> entry : categoryDeltas.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeVarLong(bytes, zigzag(entry.getValue()));
+            }
+            writeVarLong(bytes, removedCategories.size());
+            for (String category : removedCategories) {
+                out.writeUTF(category);
+            }
+            return bytes.toByteArray();
+        }
+
+        private static Delta decode(byte[] record) throws IOException {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            long sequence = readVarLong(in);
+            long timeMillis = readVarLong(in);
+            String playerName = in.readUTF();
+            int scoreDelta = unzigzag(readVarLong(in));
+            int wordsGuessedDelta = unzigzag(readVarLong(in));
+            int gamesPlayedDelta = unzigzag(readVarLong(in));
+            int categories = (int) readVarLong(in);
+            Map<String, Integer> categoryDeltas = new LinkedHashMap<>();
+            for (int i = 0; i < categories; i++) {
+                String category = in.readUTF();
+                categoryDeltas.put(category, unzigzag(readVarLong(in)));
+            }
+            int removed = (int) readVarLong(in);
+            List<String> removedCategories = new ArrayList<>(removed);
+            for (int i = 0; i < removed; i++) {
+                removedCategories.add(in.readUTF());
+            }
+            return new Delta(sequence, timeMillis, playerName, scoreDelta, wordsGuessedDelta, gamesPlayedDelta,
+                    categoryDeltas, removedCategories);
+        }
+
+        private static long readVarLong(DataInputStream in) throws IOException {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        private static long zigzag(int value) {
+            return ((long) value << 1) ^ (value >> 31);
+        }
+
+        private static int unzigzag(long value) {
+            return (int) (value >>> 1) ^ -(int) (value & 1);
+        }
+    }
+}
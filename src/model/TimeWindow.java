@@ -0,0 +1,41 @@
+package model;
+
+/**
+ * The period a leaderboard counts points over.
+ */
+public enum TimeWindow {
+    /**
+     * The points earned in the last 24 hours.
+     */
+    DAILY("Today", 24),
+    /**
+     * The points earned in the last 7 days.
+     */
+    WEEKLY("This Week", 7 * 24),
+    /**
+     * The total score of every player.
+     */
+    ALL_TIME("All Time", 0);
+
+    private final String label;
+    private final int hours;
+
+    TimeWindow(String label, int hours) {
+        this.label = label;
+        this.hours = hours;
+    }
+
+    /**
+     * Gets the length of the window.
+     *
+     * @return the number of hours, or 0 if the window never expires
+     */
+    public int getHours() {
+        return hours;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class records everything that happens to a {@link GameEngine} into a compact binary trace, which a
+ * {@link TraceReplayer} can play back. Recording is switched on by setting the system property
+ * {@value #TRACE_PROPERTY} to the directory the traces should be written to.
+ * <p>
+ * A trace starts with a header: the magic number, the format version, the wall clock time and the player name. Each
+ * record that follows is a type byte and the microseconds since the previous record as a variable-length number. A new
+ * game record holds the category, the dictionary version, the word id, the seed of the word sampler, whether unknown
+ * words are rejected and the word; a guess record holds the input and the outcome. A category is written in full the
+ * first time and as a number after that. Records are flushed as they are written, so a trace survives the game being
+ * killed.
+ */
+public class TraceRecorder implements GameEngineListener, Closeable {
+    public static final String TRACE_PROPERTY = "hangman.trace";
+    static final int MAGIC = 0x48475452;
+    static final int FORMAT_VERSION = 1;
+    static final int NEW_GAME = 1;
+    static final int GUESS = 2;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> categories = new HashMap<>();
+    private long lastEventNanos = System.nanoTime();
+
+    /**
+     * Constructs a recorder that writes a new trace file.
+     *
+     * @param file       the trace file
+     * @param playerName the name of the player
+     * @throws IOException if the file cannot be written
+     */
+    public TraceRecorder(Path file, String playerName) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeUTF(playerName);
+        out.flush();
+    }
+
+    /**
+     * Starts recording an engine if the system property {@value #TRACE_PROPERTY} is set. The trace is named after the
+     * player and the time.
+     *
+     * @param engine the engine to record
+     * @return the recorder, or null if recording is switched off or the trace cannot be created
+     */
+    public static TraceRecorder attachIfEnabled(GameEngine engine) {
+        String directory = System.getProperty(TRACE_PROPERTY);
+        if (directory == null) {
+            return null;
+        }
+        try {
+            Path path = Paths.get(directory);
+            Files.createDirectories(path);
+            String name = engine.getPlayerName().replaceAll("[^\\p{L}\\p{N}_-]", "_") + "-" + System.currentTimeMillis();
+            TraceRecorder recorder = new TraceRecorder(path.resolve(name + ".trace"), engine.getPlayerName());
+            engine.addGameEngineListener(recorder);
+            return recorder;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void gameStateChanged(GameEngineEvent event) {
+        long now = System.nanoTime();
+        GameEngine engine = event.getEngine();
+        try {
+            if (event.getType() == GameEngineEvent.Type.NEW_GAME) {
+                out.writeByte(NEW_GAME);
+                writeVarLong((now - lastEventNanos) / 1000);
+                writeCategory(engine.getCategory());
+                out.writeLong(engine.getDictionaryVersion());
+                writeVarLong(engine.getWordId() + 1);
+                out.writeLong(engine.getWordSeed());
+                out.writeBoolean(engine.isRejectUnknownWords());
+                out.writeUTF(engine.getWordToGuess());
+            } else {
+                out.writeByte(GUESS);
+                writeVarLong((now - lastEventNanos) / 1000);
+                out.writeUTF(event.getInput());
+                out.writeByte(event.getOutcome().ordinal());
+            }
+            out.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        lastEventNanos = now;
+    }
+
+    private void writeCategory(String category) throws IOException {
+        Integer index = categories.get(category);
+        if (index != null) {
+            writeVarLong(index + 1);
+            return;
+        }
+        // Nula znači da slijedi novo ime kategorije
+        writeVarLong(0);
+        out.writeUTF(category);
+        categories.put(category, categories.size());
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
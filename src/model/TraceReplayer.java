@@ -0,0 +1,292 @@
+package model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * This class plays traces written by a {@link TraceRecorder} back through a headless {@link GameEngine}, as fast as
+ * possible. Every game is started with the recorded word, so a replay does not depend on the word sampler, and every
+ * guess is checked against the recorded outcome. The time each step takes is measured, which makes recorded sessions
+ * usable as performance regression workloads.
+ * <p>
+ * Whether a full-word guess is a real word depends on the dictionary. A game recorded with unknown words rejected is
+ * checked against the lexicon only if the current dictionary is the one it was recorded with. Otherwise its words
+ * are not checked: the guesses recorded as {@link GuessOutcome#UNKNOWN_WORD} are skipped, which leaves the game as it
+ * was, and are counted as unchecked.
+ */
+public class TraceReplayer {
+    private final boolean verbose;
+
+    /**
+     * Constructs a replayer.
+     *
+     * @param verbose true to print every step with the recorded and the replayed outcome
+     */
+    public TraceReplayer(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Replays one trace.
+     *
+     * @param file the trace file
+     * @return what happened during the replay
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public Report replay(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != TraceRecorder.MAGIC || in.readUnsignedByte() != TraceRecorder.FORMAT_VERSION) {
+                throw new IOException(file + " is not a trace");
+            }
+            in.readLong();
+            Report report = new Report(file, in.readUTF());
+            GameEngine engine = new GameEngine(report.playerName, null);
+            List<String> categories = new ArrayList<>();
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    break;
+                }
+                try {
+                    report.recordedMicros += readVarLong(in);
+                    if (type == TraceRecorder.NEW_GAME) {
+                        replayNewGame(in, engine, categories, report);
+                    } else if (type == TraceRecorder.GUESS) {
+                        replayGuess(in, engine, report);
+                    } else {
+                        throw new IOException("Unknown record " + type + " in " + file);
+                    }
+                } catch (EOFException e) {
+                    // Zapis je prekinut usred igre, ostatak se zanemaruje
+                    report.truncated = true;
+                    break;
+                }
+            }
+            report.score = engine.getScore();
+            return report;
+        }
+    }
+
+    private void replayNewGame(DataInputStream in, GameEngine engine, List<String> categories, Report report)
+            throws IOException {
+        int categoryIndex = (int) readVarLong(in);
+        if (categoryIndex == 0) {
+            categories.add(in.readUTF());
+            categoryIndex = categories.size();
+        }
+        String category = categories.get(categoryIndex - 1);
+        long dictionaryVersion = in.readLong();
+        long wordId = readVarLong(in) - 1;
+        long seed = in.readLong();
+        boolean rejectUnknownWords = in.readBoolean();
+        String word = in.readUTF();
+
+        boolean checkWords = rejectUnknownWords && dictionaryVersion == DictionaryService.getDictionary().getVersion();
+        if (checkWords) {
+            // Leksikon se gradi u pozadini, a bez njega bi svaka riječ prošla
+            DictionaryService.prepareLexicon().join();
+        }
+        report.wordsUnchecked = rejectUnknownWords && !checkWords;
+
+        long start = System.nanoTime();
+        engine.setRejectUnknownWords(checkWords);
+        engine.startNewGame(category, word);
+        report.addStep(System.nanoTime() - start);
+        report.games++;
+        if (verbose) {
+            System.out.printf("NEW   %s word %d of dictionary %016x, seed %016x: %s%s%n", category, wordId,
+                    dictionaryVersion, seed, word, report.wordsUnchecked ? "  (words unchecked)" : "");
+        }
+    }
+
+    private void replayGuess(DataInputStream in, GameEngine engine, Report report) throws IOException {
+        String input = in.readUTF();
+        GuessOutcome recorded = GuessOutcome.values()[in.readUnsignedByte()];
+        if (report.wordsUnchecked && recorded == GuessOutcome.UNKNOWN_WORD) {
+            report.guesses++;
+            report.uncheckedGuesses++;
+            if (verbose) {
+                System.out.printf("GUESS %-12s recorded %-12s unchecked%n", input, recorded);
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        GuessOutcome outcome = engine.guess(input);
+        report.addStep(System.nanoTime() - start);
+        report.guesses++;
+        if (outcome != recorded) {
+            report.mismatches++;
+        }
+        if (verbose || outcome != recorded) {
+            System.out.printf("GUESS %-12s recorded %-12s replayed %-12s %s%s%n", input, recorded, outcome,
+                    engine.getDisplayText(), outcome != recorded ? "  MISMATCH" : "");
+        }
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * What happened while one trace was replayed.
+     */
+    public static class Report {
+        private final Path file;
+        private final String playerName;
+        private long[] stepNanos = new long[64];
+        private int steps;
+        private int games;
+        private int guesses;
+        private int mismatches;
+        private int uncheckedGuesses;
+        private int score;
+        private long recordedMicros;
+        private boolean truncated;
+        private boolean wordsUnchecked;
+
+        Report(Path file, String playerName) {
+            this.file = file;
+            this.playerName = playerName;
+        }
+
+        private void addStep(long nanos) {
+            if (steps == stepNanos.length) {
+                stepNanos = Arrays.copyOf(stepNanos, steps * 2);
+            }
+            stepNanos[steps++] = nanos;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        public int getGuesses() {
+            return guesses;
+        }
+
+        /**
+         * Gets the number of guesses whose replayed outcome differs from the recorded one.
+         *
+         * @return the number of mismatches, 0 if the replay reproduced the trace exactly
+         */
+        public int getMismatches() {
+            return mismatches;
+        }
+
+        /**
+         * Gets the number of guesses that were rejected as unknown words by the dictionary the trace was recorded with,
+         * and skipped because the current dictionary is a different one.
+         *
+         * @return the number of unchecked guesses
+         */
+        public int getUncheckedGuesses() {
+            return uncheckedGuesses;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Gets how long the recorded session took in real time.
+         *
+         * @return the recorded duration in seconds
+         */
+        public double getRecordedSeconds() {
+            return recordedMicros / 1e6;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        /**
+         * Gets the time every replayed step took, sorted.
+         *
+         * @return the step times in nanoseconds
+         */
+        public long[] getSortedStepNanos() {
+            long[] sorted = Arrays.copyOf(stepNanos, steps);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    /**
+     * Replays traces and prints the mismatches and the step times. Arguments are trace files or directories of
+     * traces; {@code -v} prints every step.
+     *
+     * @param args the traces to replay
+     * @throws IOException if a trace cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        boolean verbose = false;
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("-v")) {
+                verbose = true;
+                continue;
+            }
+            Path path = Paths.get(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> traces = Files.list(path)) {
+                    traces.filter(p -> p.toString().endsWith(".trace")).sorted().forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+
+        TraceReplayer replayer = new TraceReplayer(verbose);
+        long[] all = new long[0];
+        int mismatches = 0;
+        int unchecked = 0;
+        long start = System.nanoTime();
+        for (Path file : files) {
+            Report report = replayer.replay(file);
+            long[] steps = report.getSortedStepNanos();
+            System.out.printf("%s: %s, %d games, %d guesses, %d mismatches, %d unchecked, score %d,"
+                            + " recorded %.1f s%s%n", file.getFileName(), report.getPlayerName(), report.getGames(),
+                    report.getGuesses(), report.getMismatches(), report.getUncheckedGuesses(), report.getScore(),
+                    report.getRecordedSeconds(), report.isTruncated() ? ", truncated" : "");
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + steps.length);
+            System.arraycopy(steps, 0, all, offset, steps.length);
+            mismatches += report.getMismatches();
+            unchecked += report.getUncheckedGuesses();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Arrays.sort(all);
+        if (all.length > 0) {
+            System.out.printf("%d traces, %d steps in %.3f s, %d mismatches, %d unchecked; step p50 %.1f us,"
+                            + " p99 %.1f us, max %.1f us%n", files.size(), all.length, seconds, mismatches, unchecked,
+                    all[(all.length - 1) / 2] / 1e3, all[(int) Math.ceil(all.length * 0.99) - 1] / 1e3,
+                    all[all.length - 1] / 1e3);
+        }
+    }
+}
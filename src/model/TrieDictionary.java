@@ -0,0 +1,352 @@
+package model;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * This class is an in-memory dictionary that stores all words of all categories in one minimal acyclic automaton
+ * (DAWG), so words that share prefixes or suffixes share their states. The automaton is packed into primitive arrays
+ * and every state knows how many words can be reached from it, which gives random access to a word by its rank.
+ * Each category keeps the ranks of its words in word list order, so word ids match the other dictionaries.
+ */
+public class TrieDictionary implements DictionaryInterface {
+    private static final long OBJECT_HEADER = 16;
+    private static final long REFERENCE = 4;
+
+    private final long version;
+    private final List<String> categories;
+    private final Map<String, int[]> ranksByCategory = new HashMap<>();
+
+    // Prijelazi stanja s su na indeksima od stateFirst[s] do stateFirst[s + 1]
+    private final int[] stateFirst;
+    private final int[] stateWords;
+    private final long[] finalStates;
+    private final char[] labels;
+    private final int[] targets;
+
+    /**
+     * Constructs a packed automaton from the words of another dictionary.
+     *
+     * @param source the dictionary to copy
+     */
+    public TrieDictionary(DictionaryInterface source) {
+        version = source.getVersion();
+        categories = List.copyOf(source.getCategories());
+
+        int total = 0;
+        for (String category : categories) {
+            total += source.getWordCount(category);
+        }
+        String[] sorted = new String[total];
+        int n = 0;
+        for (String category : categories) {
+            for (int id = 0, count = source.getWordCount(category); id < count; id++) {
+                sorted[n++] = source.getWord(category, id);
+            }
+        }
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (unique == 0 || !sorted[i].equals(sorted[unique - 1])) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        sorted = Arrays.copyOf(sorted, unique);
+
+        for (String category : categories) {
+            int[] ranks = new int[source.getWordCount(category)];
+            for (int id = 0; id < ranks.length; id++) {
+                ranks[id] = Arrays.binarySearch(sorted, source.getWord(category, id));
+            }
+            ranksByCategory.put(category, ranks);
+        }
+
+        Builder builder = new Builder();
+        for (String word : sorted) {
+            builder.add(word);
+        }
+        Node root = builder.finish();
+
+        List<Node> nodes = new ArrayList<>();
+        Map<Node, Integer> ids = new IdentityHashMap<>();
+        number(root, nodes, ids);
+        int transitionCount = 0;
+        for (Node node : nodes) {
+            transitionCount += node.labels.length();
+        }
+        stateFirst = new int[nodes.size() + 1];
+        stateWords = new int[nodes.size()];
+        finalStates = new long[(nodes.size() + 63) >>> 6];
+        labels = new char[transitionCount];
+        targets = new int[transitionCount];
+        int t = 0;
+        for (int s = 0; s < nodes.size(); s++) {
+            Node node = nodes.get(s);
+            stateFirst[s] = t;
+            stateWords[s] = node.words;
+            if (node.terminal) {
+                finalStates[s >>> 6] |= 1L << s;
+            }
+            for (int i = 0; i < node.labels.length(); i++) {
+                labels[t] = node.labels.charAt(i);
+                targets[t++] = ids.get(node.children.get(i));
+            }
+        }
+        stateFirst[nodes.size()] = t;
+    }
+
+    private static void number(Node root, List<Node> nodes, Map<Node, Integer> ids) {
+        Deque<Node> stack = new ArrayDeque<>();
+        ids.put(root, 0);
+        nodes.add(root);
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            for (Node child : stack.pop().children) {
+                if (!ids.containsKey(child)) {
+                    ids.put(child, nodes.size());
+                    nodes.add(child);
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    private boolean isFinal(int state) {
+        return (finalStates[state >>> 6] & (1L << state)) != 0;
+    }
+
+    /**
+     * Gets the word with the given rank in the sorted set of all distinct words.
+     */
+    private String wordAt(int rank) {
+        StringBuilder word = new StringBuilder();
+        int state = 0;
+        while (true) {
+            if (isFinal(state)) {
+                if (rank == 0) {
+                    return word.toString();
+                }
+                rank--;
+            }
+            int t = stateFirst[state];
+            int end = stateFirst[state + 1];
+            while (t < end && rank >= stateWords[targets[t]]) {
+                rank -= stateWords[targets[t]];
+                t++;
+            }
+            if (t == end) {
+                throw new IllegalStateException("Rank out of range");
+            }
+            word.append(labels[t]);
+            state = targets[t];
+        }
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    @Override
+    public int getWordCount(String category) {
+        int[] ranks = ranksByCategory.get(category);
+        return ranks == null ? 0 : ranks.length;
+    }
+
+    @Override
+    public String getWord(String category, int wordId) {
+        int[] ranks = ranksByCategory.get(category);
+        if (ranks == null) {
+            throw new IndexOutOfBoundsException("Unknown category: " + category);
+        }
+        return wordAt(ranks[wordId]);
+    }
+
+    /**
+     * Gets the number of states of the automaton.
+     *
+     * @return the state count
+     */
+    public int getStateCount() {
+        return stateWords.length;
+    }
+
+    /**
+     * Gets the number of transitions of the automaton.
+     *
+     * @return the transition count
+     */
+    public int getTransitionCount() {
+        return labels.length;
+    }
+
+    /**
+     * Estimates the heap used by this dictionary, counting array headers and payloads.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryFootprint() {
+        long bytes = array(4, stateFirst.length) + array(4, stateWords.length) + array(8, finalStates.length)
+                + array(2, labels.length) + array(4, targets.length);
+        for (int[] ranks : ranksByCategory.values()) {
+            bytes += array(4, ranks.length) + 32;
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap a dictionary would use as a {@code HashMap<String, List<String>>} of individual strings, the
+     * way {@link Game} used to store it.
+     *
+     * @param dictionary the dictionary to measure
+     * @return the estimated size in bytes
+     */
+    public static long estimateMapFootprint(DictionaryInterface dictionary) {
+        long bytes = OBJECT_HEADER + 32 + array(REFERENCE, 16);
+        for (String category : dictionary.getCategories()) {
+            int count = dictionary.getWordCount(category);
+            bytes += 32 + string(category) + OBJECT_HEADER + 8 + array(REFERENCE, count);
+            for (int id = 0; id < count; id++) {
+                bytes += string(dictionary.getWord(category, id));
+            }
+        }
+        return bytes;
+    }
+
+    private static long string(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return align(OBJECT_HEADER + 8) + array(1, latin1 ? value.length() : value.length() * 2L);
+    }
+
+    private static long array(long elementSize, long length) {
+        return align(OBJECT_HEADER + elementSize * length);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Prints the memory footprint of a word list stored as a map and as an automaton.
+     *
+     * @param args the word list, by default data/words
+     */
+    public static void main(String[] args) {
+        Path source = Paths.get(args.length > 0 ? args[0] : "data/words");
+        Dictionary dictionary = Dictionary.load(source);
+        TrieDictionary trie = new TrieDictionary(dictionary);
+        long mapBytes = estimateMapFootprint(dictionary);
+        long trieBytes = trie.getMemoryFootprint();
+        System.out.printf("Map: %,d bytes, automaton: %,d bytes (%d states, %d transitions), %.1f%% of the map%n",
+                mapBytes, trieBytes, trie.getStateCount(), trie.getTransitionCount(), 100.0 * trieBytes / mapBytes);
+    }
+
+    /**
+     * Builds a minimal automaton from words added in sorted order (Daciuk et al.).
+     */
+    private static class Builder {
+        private final Node root = new Node();
+        private final Map<Node, Node> register = new HashMap<>();
+        private String previous = "";
+
+        void add(String word) {
+            int prefix = 0;
+            while (prefix < word.length() && prefix < previous.length() && word.charAt(prefix) == previous.charAt(prefix)) {
+                prefix++;
+            }
+            Node state = root;
+            for (int i = 0; i < prefix; i++) {
+                state = state.lastChild();
+            }
+            if (!state.children.isEmpty()) {
+                replaceOrRegister(state);
+            }
+            for (int i = prefix; i < word.length(); i++) {
+                Node child = new Node();
+                state.labels.append(word.charAt(i));
+                state.children.add(child);
+                state = child;
+            }
+            state.terminal = true;
+            previous = word;
+        }
+
+        Node finish() {
+            if (!root.children.isEmpty()) {
+                replaceOrRegister(root);
+            }
+            countWords(root, new IdentityHashMap<>());
+            return root;
+        }
+
+        private void replaceOrRegister(Node state) {
+            Node child = state.lastChild();
+            if (!child.children.isEmpty()) {
+                replaceOrRegister(child);
+            }
+            Node equivalent = register.putIfAbsent(child, child);
+            if (equivalent != null) {
+                state.children.set(state.children.size() - 1, equivalent);
+            }
+        }
+
+        private int countWords(Node node, Map<Node, Boolean> counted) {
+            if (counted.put(node, Boolean.TRUE) == null) {
+                node.words = node.terminal ? 1 : 0;
+                for (Node child : node.children) {
+                    node.words += countWords(child, counted);
+                }
+            }
+            return node.words;
+        }
+    }
+
+    /**
+     * A state of the automaton while it is being built. Registered states are compared by their finality and their
+     * outgoing transitions, whose targets are already unique.
+     */
+    private static class Node {
+        private final StringBuilder labels = new StringBuilder(1);
+        private final List<Node> children = new ArrayList<>(1);
+        private boolean terminal;
+        private int words;
+
+        Node lastChild() {
+            return children.get(children.size() - 1);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Node)) {
+                return false;
+            }
+            Node other = (Node) o;
+            if (terminal != other.terminal || children.size() != other.children.size()
+                    || !labels.toString().contentEquals(other.labels)) {
+                return false;
+            }
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) != other.children.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = terminal ? 1 : 0;
+            for (int i = 0; i < children.size(); i++) {
+                hash = 31 * hash + labels.charAt(i);
+                hash = 31 * hash + System.identityHashCode(children.get(i));
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class counts the points players earned within a sliding {@link TimeWindow}. Points are added to hourly buckets
+ * kept in a ring buffer as long as the window, and a running total per player is kept next to the ring. When an hour
+ * leaves the window its bucket is subtracted from the totals and reused, so expiry costs one pass over that bucket and
+ * the history is never scanned again.
+ * <p>
+ * The best players are kept on a {@link CategoryLeaderboard} next to the totals, moved up as they earn points and
+ * down as their points expire, so reading them never sorts the totals. The board is only refilled from the totals when
+ * a player drops off a full board, at most once for each hour that expires, and after the leaderboard is read back
+ * from a file.
+ */
+public class WindowedLeaderboard implements Serializable {
+    private static final long serialVersionUID = 1L;
+    static final long MILLIS_PER_HOUR = 60 * 60 * 1000;
+
+    private final TimeWindow window;
+    private final int capacity;
+    private final ArrayList<HashMap<String, Integer>> buckets;
+    private final HashMap<String, Integer> totals = new HashMap<>();
+    private long currentHour;
+    // Ploča se ne sprema, slaže se iznova iz zbrojeva kad zatreba
+    private transient CategoryLeaderboard top;
+
+    /**
+     * Constructs an empty leaderboard.
+     *
+     * @param window   the window to count points over, which must not be {@link TimeWindow#ALL_TIME}
+     * @param capacity the number of best players kept
+     */
+    public WindowedLeaderboard(TimeWindow window, int capacity) {
+        if (window.getHours() <= 0) {
+            throw new IllegalArgumentException(window + " has no buckets");
+        }
+        this.window = window;
+        this.capacity = capacity;
+        this.buckets = new ArrayList<>(window.getHours());
+        for (int i = 0; i < window.getHours(); i++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public TimeWindow getWindow() {
+        return window;
+    }
+
+    /**
+     * Adds points a player earned.
+     *
+     * @param playerName the name of the player
+     * @param points     the points earned; nothing is recorded unless it is positive
+     * @param nowMillis  the current time in milliseconds since the epoch
+     */
+    public void record(String playerName, int points, long nowMillis) {
+        if (points <= 0) {
+            return;
+        }
+        advance(nowMillis);
+        buckets.get(slot(currentHour)).merge(playerName, points, Integer::sum);
+        int total = totals.merge(playerName, points, Integer::sum);
+        if (top != null) {
+            // Rezultat samo raste, pa igrač ne može pasti s ploče
+            top.update(playerName, total);
+        }
+    }
+
+    /**
+     * Gets the points a player earned within the window.
+     *
+     * @param playerName the name of the player
+     * @param nowMillis  the current time in milliseconds since the epoch
+     * @return the points, 0 if the player earned none
+     */
+    public int getScore(String playerName, long nowMillis) {
+        advance(nowMillis);
+        return totals.getOrDefault(playerName, 0);
+    }
+
+    /**
+     * Gets the players who earned the most points within the window.
+     *
+     * @param count     the number of players, no more than the capacity are returned
+     * @param nowMillis the current time in milliseconds since the epoch
+     * @return up to count players, from the most points down
+     */
+    public List<LeaderboardEntry> getTopPlayers(int count, long nowMillis) {
+        advance(nowMillis);
+        if (top == null) {
+            top = new CategoryLeaderboard(window.name(), capacity);
+            top.rebuild(totals);
+        }
+        List<LeaderboardEntry> entries = top.getEntries();
+        return entries.size() > count ? new ArrayList<>(entries.subList(0, count)) : entries;
+    }
+
+    /**
+     * Expires every hour that left the window since the last call. A clock that went back is treated as the current
+     * hour.
+     */
+    private void advance(long nowMillis) {
+        long hour = Math.floorDiv(nowMillis, MILLIS_PER_HOUR);
+        if (hour <= currentHour) {
+            return;
+        }
+        if (hour - currentHour >= buckets.size()) {
+            // Cijeli prozor je istekao
+            for (Map<String, Integer> bucket : buckets) {
+                bucket.clear();
+            }
+            totals.clear();
+            top = null;
+        } else {
+            for (long h = currentHour + 1; h <= hour; h++) {
+                expire(buckets.get(slot(h)));
+            }
+        }
+        currentHour = hour;
+    }
+
+    private void expire(Map<String, Integer> bucket) {
+        for (Map.Entry<String, Integer> points : bucket.entrySet()) {
+            Integer remaining = totals.computeIfPresent(points.getKey(), (name, total) -> {
+                int left = total - points.getValue();
+                return left == 0 ? null : left;
+            });
+            if (top != null) {
+                boolean kept = remaining == null
+                        ? top.removePlayer(points.getKey()) : top.update(points.getKey(), remaining);
+                if (!kept) {
+                    top = null;
+                }
+            }
+        }
+        bucket.clear();
+    }
+
+    private int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) buckets.size());
+    }
+}
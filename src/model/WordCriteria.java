@@ -0,0 +1,88 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * This class describes which words may be chosen for a game: a range of word lengths, a range of distinct letter
+ * counts and a range of difficulty scores between 0 and 1. Lengths count every character except spaces.
+ */
+public class WordCriteria implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Criteria that match every word.
+     */
+    public static final WordCriteria ANY = new WordCriteria(0, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, 0, 1);
+
+    private final int minLength;
+    private final int maxLength;
+    private final int minDistinctLetters;
+    private final int maxDistinctLetters;
+    private final double minDifficulty;
+    private final double maxDifficulty;
+
+    /**
+     * Constructs criteria for a length range and a minimum difficulty.
+     *
+     * @param minLength     the shortest allowed word
+     * @param maxLength     the longest allowed word
+     * @param minDifficulty the lowest allowed difficulty
+     */
+    public WordCriteria(int minLength, int maxLength, double minDifficulty) {
+        this(minLength, maxLength, 0, Integer.MAX_VALUE, minDifficulty, 1);
+    }
+
+    /**
+     * Constructs criteria with every range given explicitly. All bounds are inclusive.
+     *
+     * @param minLength          the shortest allowed word
+     * @param maxLength          the longest allowed word
+     * @param minDistinctLetters the lowest allowed number of distinct letters
+     * @param maxDistinctLetters the highest allowed number of distinct letters
+     * @param minDifficulty      the lowest allowed difficulty
+     * @param maxDifficulty      the highest allowed difficulty
+     */
+    public WordCriteria(int minLength, int maxLength, int minDistinctLetters, int maxDistinctLetters,
+                        double minDifficulty, double maxDifficulty) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.minDistinctLetters = minDistinctLetters;
+        this.maxDistinctLetters = maxDistinctLetters;
+        this.minDifficulty = minDifficulty;
+        this.maxDifficulty = maxDifficulty;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public int getMinDistinctLetters() {
+        return minDistinctLetters;
+    }
+
+    public int getMaxDistinctLetters() {
+        return maxDistinctLetters;
+    }
+
+    public double getMinDifficulty() {
+        return minDifficulty;
+    }
+
+    public double getMaxDifficulty() {
+        return maxDifficulty;
+    }
+
+    /**
+     * Checks whether these criteria match every word.
+     *
+     * @return true if no range excludes anything
+     */
+    public boolean matchesAll() {
+        return minLength <= 0 && maxLength == Integer.MAX_VALUE && minDistinctLetters <= 0
+                && maxDistinctLetters == Integer.MAX_VALUE && minDifficulty <= 0 && maxDifficulty >= 1;
+    }
+}
@@ -0,0 +1,247 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class indexes the words of every category by length, number of distinct letters and difficulty, so a random
+ * word that matches {@link WordCriteria} can be chosen without scanning the category.
+ * <p>
+ * Words are grouped into buckets with the same length and distinct letter count, and each bucket is sorted by
+ * difficulty. Counting the matches of a query takes two binary searches per bucket in range and choosing one of them
+ * by rank walks the same buckets, so the cost does not grow with the number of words. The difficulty of a word is
+ * one minus the average relative frequency of its distinct letters in the category, so words made of rare letters
+ * score close to 1. A category is indexed the first time it is queried.
+ */
+public class WordIndex {
+    private static final int MAX_ATTRIBUTE = 255;
+
+    private final DictionaryInterface dictionary;
+    private final Map<String, CategoryIndex> categories = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an index over a dictionary.
+     *
+     * @param dictionary the dictionary to index
+     */
+    public WordIndex(DictionaryInterface dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public DictionaryInterface getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Counts the words of a category that match the criteria.
+     *
+     * @param category the category name
+     * @param criteria the criteria to match
+     * @return the number of matching words
+     */
+    public int count(String category, WordCriteria criteria) {
+        CategoryIndex index = categoryIndex(category);
+        int total = 0;
+        for (int b = index.firstBucket(criteria); b < index.bucketKeys.length && inLengthRange(index, b, criteria); b++) {
+            if (inDistinctRange(index, b, criteria)) {
+                total += index.end(b, criteria) - index.start(b, criteria);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Gets the id of the matching word with the given rank. Ranks run from 0 to {@link #count} minus one and follow
+     * the order of the index, which is stable for a given dictionary.
+     *
+     * @param category the category name
+     * @param criteria the criteria to match
+     * @param rank     the rank of the word among the matches
+     * @return the id of the word, or -1 if the rank is out of range
+     */
+    public int select(String category, WordCriteria criteria, int rank) {
+        if (rank < 0) {
+            return -1;
+        }
+        CategoryIndex index = categoryIndex(category);
+        for (int b = index.firstBucket(criteria); b < index.bucketKeys.length && inLengthRange(index, b, criteria); b++) {
+            if (!inDistinctRange(index, b, criteria)) {
+                continue;
+            }
+            int start = index.start(b, criteria);
+            int matches = index.end(b, criteria) - start;
+            if (rank < matches) {
+                return index.ids[start + rank];
+            }
+            rank -= matches;
+        }
+        return -1;
+    }
+
+    /**
+     * Chooses a random matching word.
+     *
+     * @param category the category name
+     * @param criteria the criteria to match
+     * @param random   the source of randomness
+     * @return the id of the word, or -1 if no word matches
+     */
+    public int randomWord(String category, WordCriteria criteria, Random random) {
+        int count = count(category, criteria);
+        return count == 0 ? -1 : select(category, criteria, random.nextInt(count));
+    }
+
+    public int getLength(String category, int wordId) {
+        return categoryIndex(category).lengths[wordId] & 0xFF;
+    }
+
+    public int getDistinctLetters(String category, int wordId) {
+        return categoryIndex(category).distinctLetters[wordId] & 0xFF;
+    }
+
+    public float getDifficulty(String category, int wordId) {
+        return categoryIndex(category).difficulties[wordId];
+    }
+
+    private static boolean inLengthRange(CategoryIndex index, int bucket, WordCriteria criteria) {
+        return (index.bucketKeys[bucket] >>> 8) <= criteria.getMaxLength();
+    }
+
+    private static boolean inDistinctRange(CategoryIndex index, int bucket, WordCriteria criteria) {
+        int distinct = index.bucketKeys[bucket] & 0xFF;
+        return distinct >= criteria.getMinDistinctLetters() && distinct <= criteria.getMaxDistinctLetters();
+    }
+
+    private CategoryIndex categoryIndex(String category) {
+        return categories.computeIfAbsent(category, c -> new CategoryIndex(dictionary, c));
+    }
+
+    /**
+     * The index of a single category.
+     */
+    private static class CategoryIndex {
+        private final byte[] lengths;
+        private final byte[] distinctLetters;
+        private final float[] difficulties;
+        private final int[] bucketKeys;
+        private final int[] bucketStart;
+        private final int[] ids;
+        private final float[] sortedDifficulties;
+
+        CategoryIndex(DictionaryInterface dictionary, String category) {
+            int count = dictionary.getWordCount(category);
+            String[] words = new String[count];
+            int[] letterCounts = new int[Character.MAX_VALUE + 1];
+            for (int id = 0; id < count; id++) {
+                words[id] = dictionary.getWord(category, id).toUpperCase();
+                for (int i = 0; i < words[id].length(); i++) {
+                    char c = words[id].charAt(i);
+                    if (Character.isLetter(c)) {
+                        letterCounts[c]++;
+                    }
+                }
+            }
+            int maxCount = 1;
+            for (int letterCount : letterCounts) {
+                maxCount = Math.max(maxCount, letterCount);
+            }
+
+            lengths = new byte[count];
+            distinctLetters = new byte[count];
+            difficulties = new float[count];
+            int[] seen = new int[Character.MAX_VALUE + 1];
+            int[] bucketSizes = new int[(MAX_ATTRIBUTE + 1) << 8];
+            for (int id = 0; id < count; id++) {
+                String word = words[id];
+                int length = 0;
+                int distinct = 0;
+                double commonness = 0;
+                for (int i = 0; i < word.length(); i++) {
+                    char c = word.charAt(i);
+                    if (c == ' ') {
+                        continue;
+                    }
+                    length++;
+                    if (Character.isLetter(c) && seen[c] != id + 1) {
+                        seen[c] = id + 1;
+                        distinct++;
+                        commonness += (double) letterCounts[c] / maxCount;
+                    }
+                }
+                lengths[id] = (byte) Math.min(length, MAX_ATTRIBUTE);
+                distinctLetters[id] = (byte) Math.min(distinct, MAX_ATTRIBUTE);
+                difficulties[id] = distinct == 0 ? 0 : (float) (1 - commonness / distinct);
+                bucketSizes[bucketKey(id)]++;
+            }
+
+            int bucketCount = 0;
+            for (int size : bucketSizes) {
+                if (size > 0) {
+                    bucketCount++;
+                }
+            }
+            bucketKeys = new int[bucketCount];
+            bucketStart = new int[bucketCount + 1];
+            int[] fill = new int[bucketSizes.length];
+            for (int key = 0, b = 0, position = 0; key < bucketSizes.length; key++) {
+                if (bucketSizes[key] > 0) {
+                    bucketKeys[b] = key;
+                    bucketStart[b++] = position;
+                    fill[key] = position;
+                    position += bucketSizes[key];
+                }
+            }
+            bucketStart[bucketCount] = count;
+
+            // Unutar svakog skupa riječi se sortiraju po težini, koja je zapisana u gornja 32 bita ključa
+            long[] sortKeys = new long[count];
+            for (int id = 0; id < count; id++) {
+                sortKeys[fill[bucketKey(id)]++] = (long) Float.floatToIntBits(difficulties[id]) << 32 | id;
+            }
+            ids = new int[count];
+            sortedDifficulties = new float[count];
+            for (int b = 0; b < bucketCount; b++) {
+                Arrays.sort(sortKeys, bucketStart[b], bucketStart[b + 1]);
+            }
+            for (int i = 0; i < count; i++) {
+                ids[i] = (int) sortKeys[i];
+                sortedDifficulties[i] = difficulties[ids[i]];
+            }
+        }
+        private int bucketKey(int id) {
+            return (lengths[id] & 0xFF) << 8 | (distinctLetters[id] & 0xFF);
+        }
+
+        int firstBucket(WordCriteria criteria) {
+            int minKey = Math.min(Math.max(criteria.getMinLength(), 0), MAX_ATTRIBUTE + 1) << 8;
+            int position = Arrays.binarySearch(bucketKeys, minKey);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        int start(int bucket, WordCriteria criteria) {
+            return lowerBound(bucketStart[bucket], bucketStart[bucket + 1], (float) criteria.getMinDifficulty(), false);
+        }
+
+        int end(int bucket, WordCriteria criteria) {
+            return lowerBound(bucketStart[bucket], bucketStart[bucket + 1], (float) criteria.getMaxDifficulty(), true);
+        }
+
+        /**
+         * Finds the first position whose difficulty is not below the value, or above it if inclusive is true.
+         */
+        private int lowerBound(int from, int to, float value, boolean inclusive) {
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                float difficulty = sortedDifficulties[middle];
+                if (difficulty < value || inclusive && difficulty == value) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+            return from;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class answers whether a string is a word of the dictionary, for any category, ignoring case.
+ * <p>
+ * A lookup hashes the input once. A Bloom filter rejects most non-words straight away. Candidates that pass are
+ * mapped by a minimal perfect hash (a BBHash-style cascade of bit arrays with rank counts) to one slot per distinct
+ * word, and the slot holds a reference to that word in the dictionary, which is read and compared to make the answer
+ * exact. Memory is a few bytes per word: the filter, the bit arrays and one int reference per word.
+ */
+public class WordLexicon {
+    private static final int BLOOM_BITS_PER_WORD = 10;
+    private static final int BLOOM_HASHES = 7;
+    private static final double LEVEL_GAMMA = 2.0;
+    private static final int MAX_LEVELS = 32;
+
+    private final DictionaryInterface dictionary;
+    private final List<String> categories;
+    private final int[] categoryOffsets;
+
+    private final long[] bloom;
+    private final long bloomBits;
+
+    private final long[] levelBits;
+    private final int[] levelRanks;
+    private final int[] levelOffsets;
+    private final int[] levelSizes;
+    private final int levelCount;
+    private final int[] references;
+    private final Map<String, Integer> overflow = new HashMap<>();
+
+    /**
+     * Builds the lexicon of a dictionary.
+     *
+     * @param dictionary the dictionary whose words are accepted
+     */
+    public WordLexicon(DictionaryInterface dictionary) {
+        this.dictionary = dictionary;
+        categories = dictionary.getCategories();
+        categoryOffsets = new int[categories.size() + 1];
+        for (int i = 0; i < categories.size(); i++) {
+            categoryOffsets[i + 1] = categoryOffsets[i] + dictionary.getWordCount(categories.get(i));
+        }
+
+        // Jedinstvene riječi, svaka s referencom na svoje prvo pojavljivanje
+        Map<String, Integer> unique = new HashMap<>();
+        for (int i = 0; i < categories.size(); i++) {
+            for (int id = 0, count = dictionary.getWordCount(categories.get(i)); id < count; id++) {
+                unique.putIfAbsent(dictionary.getWord(categories.get(i), id).toUpperCase(), categoryOffsets[i] + id);
+            }
+        }
+        int n = unique.size();
+        long[] hashes = new long[n];
+        int[] refs = new int[n];
+        String[] words = new String[n];
+        int k = 0;
+        for (Map.Entry<String, Integer> entry : unique.entrySet()) {
+            words[k] = entry.getKey();
+            hashes[k] = hash(entry.getKey());
+            refs[k++] = entry.getValue();
+        }
+
+        bloomBits = Math.max(64, (long) n * BLOOM_BITS_PER_WORD);
+        bloom = new long[(int) ((bloomBits + 63) >>> 6)];
+        for (long hash : hashes) {
+            addToBloom(hash);
+        }
+
+        int[] offsets = new int[MAX_LEVELS + 1];
+        int[] sizes = new int[MAX_LEVELS];
+        long[][] levels = new long[MAX_LEVELS][];
+        int[] remaining = new int[n];
+        for (int i = 0; i < n; i++) {
+            remaining[i] = i;
+        }
+        int remainingCount = n;
+        int level = 0;
+        int totalWords = 0;
+        while (remainingCount > 0 && level < MAX_LEVELS) {
+            int size = (int) Math.max(64, ((long) Math.ceil(remainingCount * LEVEL_GAMMA) + 63) & ~63L);
+            long[] seen = new long[size >>> 6];
+            long[] collided = new long[size >>> 6];
+            for (int i = 0; i < remainingCount; i++) {
+                int position = position(hashes[remaining[i]], level, size);
+                long bit = 1L << position;
+                if ((seen[position >>> 6] & bit) != 0) {
+                    collided[position >>> 6] |= bit;
+                } else {
+                    seen[position >>> 6] |= bit;
+                }
+            }
+            for (int w = 0; w < seen.length; w++) {
+                seen[w] &= ~collided[w];
+            }
+            int next = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                int position = position(hashes[remaining[i]], level, size);
+                if ((seen[position >>> 6] & (1L << position)) == 0) {
+                    remaining[next++] = remaining[i];
+                }
+            }
+            levels[level] = seen;
+            sizes[level] = size;
+            offsets[level + 1] = offsets[level] + (size >>> 6);
+            totalWords += size >>> 6;
+            remainingCount = next;
+            level++;
+        }
+        levelCount = level;
+        levelSizes = Arrays.copyOf(sizes, level);
+        levelOffsets = Arrays.copyOf(offsets, level + 1);
+        levelBits = new long[totalWords];
+        levelRanks = new int[totalWords + 1];
+        for (int l = 0; l < level; l++) {
+            System.arraycopy(levels[l], 0, levelBits, levelOffsets[l], levels[l].length);
+        }
+        for (int w = 0; w < totalWords; w++) {
+            levelRanks[w + 1] = levelRanks[w] + Long.bitCount(levelBits[w]);
+        }
+
+        references = new int[n - remainingCount];
+        for (int i = 0; i < n; i++) {
+            int slot = slot(hashes[i]);
+            if (slot >= 0) {
+                references[slot] = refs[i];
+            }
+        }
+        for (int i = 0; i < remainingCount; i++) {
+            overflow.put(words[remaining[i]], refs[remaining[i]]);
+        }
+    }
+
+    public DictionaryInterface getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Checks whether a string is a word of the dictionary.
+     *
+     * @param word the string to check, in upper case
+     * @return true if some category contains the word
+     */
+    public boolean contains(String word) {
+        long hash = hash(word);
+        if (!mightContain(hash)) {
+            return false;
+        }
+        int slot = slot(hash);
+        if (slot >= 0) {
+            return word.equals(wordAt(references[slot]));
+        }
+        return overflow.containsKey(word);
+    }
+
+    /**
+     * Estimates the heap used by the lexicon.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getMemoryFootprint() {
+        return 8L * (bloom.length + levelBits.length) + 4L * (levelRanks.length + references.length)
+                + 64L * overflow.size();
+    }
+
+    private String wordAt(int reference) {
+        int index = Arrays.binarySearch(categoryOffsets, reference);
+        int category = index >= 0 ? index : -index - 2;
+        while (categoryOffsets[category + 1] == reference) {
+            category++;
+        }
+        return dictionary.getWord(categories.get(category), reference - categoryOffsets[category]).toUpperCase();
+    }
+
+    private int slot(long hash) {
+        for (int level = 0; level < levelCount; level++) {
+            int position = position(hash, level, levelSizes[level]);
+            int word = levelOffsets[level] + (position >>> 6);
+            long bit = 1L << position;
+            if ((levelBits[word] & bit) != 0) {
+                return levelRanks[word] + Long.bitCount(levelBits[word] & (bit - 1));
+            }
+        }
+        return -1;
+    }
+
+    private void addToBloom(long hash) {
+        long h1 = hash;
+        long h2 = mix(hash) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bloomBits);
+            bloom[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        long h1 = hash;
+        long h2 = mix(hash) | 1;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bloomBits);
+            if ((bloom[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int position(long hash, int level, int size) {
+        long mixed = mix(hash + 0x9E3779B97F4A7C15L * (level + 1));
+        return (int) (((mixed >>> 32) * size) >>> 32);
+    }
+
+    private static long hash(String word) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash = (hash ^ word.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,364 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This class merges many word list files in the {@code [Category]} format into one dictionary. The files are parsed
+ * in parallel on a fork/join pool, large files in chunks of {@value #CHUNK_BYTES} bytes, and every word is normalised
+ * (Unicode NFC, trimmed, runs of whitespace collapsed to one space) and de-duplicated per category, ignoring case, in
+ * concurrent hash maps.
+ * <p>
+ * The result does not depend on the order in which the files are parsed: files are numbered in name order, and each
+ * category and word keeps the position of its first occurrence, the file number and the byte offset of the line,
+ * which also decides the spelling that is kept. A single word list without duplicates therefore gives the same
+ * dictionary as {@link Dictionary#load}. Words at the start of a chunk, before its first category header, belong to
+ * the last category of the chunks before it and are added once those chunks are parsed.
+ */
+public class WordListIngester {
+    static final int CHUNK_BYTES = 4 << 20;
+
+    private final ForkJoinPool pool;
+    private final LongAdder linesRead = new LongAdder();
+    private final LongAdder wordsRead = new LongAdder();
+    private long uniqueWords;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an ingester that uses the common fork/join pool.
+     */
+    public WordListIngester() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs an ingester that uses the given pool.
+     *
+     * @param pool the pool that parses the files
+     */
+    public WordListIngester(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Ingests every regular file in a directory.
+     *
+     * @param directory the directory with word list files
+     * @return the merged dictionary
+     * @throws IOException if the directory cannot be listed
+     */
+    public Dictionary ingestDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return ingest(files.filter(Files::isRegularFile).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Ingests the given files.
+     *
+     * @param files the word list files
+     * @return the merged dictionary
+     * @throws IOException if a file cannot be read
+     */
+    public Dictionary ingest(List<Path> files) throws IOException {
+        long start = System.nanoTime();
+        linesRead.reset();
+        wordsRead.reset();
+        List<Path> ordered = new ArrayList<>(files);
+        ordered.sort(Comparator.comparing(Path::toString));
+
+        ConcurrentMap<String, Category> categories = new ConcurrentHashMap<>();
+        try {
+            pool.invoke(new IngestTask(ordered, 0, ordered.size(), categories));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        List<Category> sortedCategories = new ArrayList<>(categories.values());
+        sortedCategories.sort(Comparator.comparingLong(category -> category.position.get()));
+        Map<String, List<String>> wordsByCategory = new LinkedHashMap<>();
+        long unique = 0;
+        for (Category category : sortedCategories) {
+            List<Occurrence> occurrences = new ArrayList<>(category.words.values());
+            occurrences.sort(Comparator.comparingLong(occurrence -> occurrence.position));
+            List<String> words = new ArrayList<>(occurrences.size());
+            for (Occurrence occurrence : occurrences) {
+                words.add(occurrence.word);
+            }
+            wordsByCategory.put(category.name, words);
+            unique += words.size();
+        }
+        uniqueWords = unique;
+        Dictionary dictionary = new Dictionary(wordsByCategory);
+        elapsedNanos = System.nanoTime() - start;
+        return dictionary;
+    }
+
+    /**
+     * Normalises a word: Unicode NFC, trimmed, with every run of whitespace replaced by one space.
+     *
+     * @param line the raw word
+     * @return the normalised word, empty if the line has no content
+     */
+    public static String normalize(String line) {
+        String text = Normalizer.isNormalized(line, Normalizer.Form.NFC)
+                ? line : Normalizer.normalize(line, Normalizer.Form.NFC);
+        StringBuilder word = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = word.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    word.append(' ');
+                    pendingSpace = false;
+                }
+                word.append(c);
+            }
+        }
+        return word.toString();
+    }
+
+    public long getLinesRead() {
+        return linesRead.sum();
+    }
+
+    public long getWordsRead() {
+        return wordsRead.sum();
+    }
+
+    public long getUniqueWords() {
+        return uniqueWords;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the throughput of the last ingestion.
+     *
+     * @return the number of words read per second
+     */
+    public double getWordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : getWordsRead() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Parses one file, splitting it into chunks that are parsed in parallel.
+     */
+    private void ingestFile(Path file, int fileIndex, ConcurrentMap<String, Category> categories) throws IOException {
+        ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                // Pomak retka mora stati u donjih 32 bita pozicije
+                throw new IOException(file + " is larger than 2 GiB");
+            }
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        List<ChunkTask> chunks = new ArrayList<>();
+        int from = 0;
+        while (from < bytes.limit()) {
+            int to = nextLineStart(bytes, (int) Math.min(bytes.limit(), (long) from + CHUNK_BYTES));
+            chunks.add(new ChunkTask(bytes, from, to, (long) fileIndex << 32, categories));
+            from = to;
+        }
+        ForkJoinTask.invokeAll(chunks);
+
+        Category current = null;
+        for (ChunkTask chunk : chunks) {
+            if (current != null) {
+                for (Occurrence occurrence : chunk.leadingWords) {
+                    current.add(occurrence);
+                }
+                wordsRead.add(chunk.leadingWords.size());
+            }
+            if (chunk.lastCategory != null) {
+                current = chunk.lastCategory;
+            }
+        }
+    }
+
+    private static int nextLineStart(ByteBuffer bytes, int index) {
+        while (index < bytes.limit() && bytes.get(index - 1) != '\n') {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Parses the lines between two byte offsets. Words before the first category header are kept aside, because
+     * their category is decided by the chunks before.
+     */
+    private void parse(ChunkTask chunk) {
+        ByteBuffer bytes = chunk.bytes;
+        byte[] buffer = new byte[256];
+        long lines = 0;
+        long words = 0;
+        Category category = null;
+        int start = chunk.from;
+        while (start < chunk.to) {
+            int end = start;
+            while (end < chunk.to && bytes.get(end) != '\n') {
+                end++;
+            }
+            int length = end - start;
+            if (length > 0 && bytes.get(end - 1) == '\r') {
+                length--;
+            }
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            bytes.get(start, buffer, 0, length);
+            long position = chunk.fileBase | start;
+            start = end + 1;
+            lines++;
+
+            String word = normalize(new String(buffer, 0, length, StandardCharsets.UTF_8));
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (word.startsWith("[") && word.endsWith("]")) {
+                String name = word.substring(1, word.length() - 1);
+                category = chunk.categories.computeIfAbsent(name, Category::new);
+                category.position.accumulateAndGet(position, Math::min);
+                chunk.lastCategory = category;
+            } else if (category != null) {
+                words++;
+                category.add(new Occurrence(word, position));
+            } else {
+                chunk.leadingWords.add(new Occurrence(word, position));
+            }
+        }
+        linesRead.add(lines);
+        wordsRead.add(words);
+    }
+
+    /**
+     * Prints the throughput of ingesting a directory and optionally compiles the result.
+     *
+     * @param args the directory with word lists, and optionally the path of a compiled dictionary to write
+     * @throws IOException if reading or writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : "data/words.d");
+        WordListIngester ingester = new WordListIngester();
+        Dictionary dictionary = ingester.ingestDirectory(directory);
+        System.out.printf("Read %,d lines, %,d words, kept %,d unique words in %d categories in %d ms (%,.0f words/s)%n",
+                ingester.getLinesRead(), ingester.getWordsRead(), ingester.getUniqueWords(),
+                dictionary.getCategories().size(), ingester.getElapsedNanos() / 1_000_000, ingester.getWordsPerSecond());
+        if (args.length > 1) {
+            DictionaryCompiler.compile(dictionary, Paths.get(args[1]));
+        }
+    }
+
+    /**
+     * Splits the list of files in halves until a single file is left, which is then parsed in chunks.
+     */
+    private class IngestTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient List<Path> files;
+        private final int from;
+        private final int to;
+        private final transient ConcurrentMap<String, Category> categories;
+
+        IngestTask(List<Path> files, int from, int to, ConcurrentMap<String, Category> categories) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.categories = categories;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new IngestTask(files, from, middle, categories), new IngestTask(files, middle, to, categories));
+            } else if (to > from) {
+                try {
+                    ingestFile(files.get(from), from, categories);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses one chunk of a file, a range of whole lines.
+     */
+    private class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient ByteBuffer bytes;
+        private final int from;
+        private final int to;
+        private final long fileBase;
+        private final transient ConcurrentMap<String, Category> categories;
+        private final transient List<Occurrence> leadingWords = new ArrayList<>();
+        private transient Category lastCategory;
+
+        ChunkTask(ByteBuffer bytes, int from, int to, long fileBase, ConcurrentMap<String, Category> categories) {
+            this.bytes = bytes;
+            this.from = from;
+            this.to = to;
+            this.fileBase = fileBase;
+            this.categories = categories;
+        }
+
+        @Override
+        protected void compute() {
+            parse(this);
+        }
+    }
+
+    /**
+     * The words of one category, keyed by their upper case form.
+     */
+    private static class Category {
+        private final String name;
+        private final AtomicLong position = new AtomicLong(Long.MAX_VALUE);
+        private final ConcurrentMap<String, Occurrence> words = new ConcurrentHashMap<>();
+
+        Category(String name) {
+            this.name = name;
+        }
+
+        void add(Occurrence occurrence) {
+            words.merge(occurrence.word.toUpperCase(Locale.ROOT), occurrence,
+                    (first, second) -> first.position <= second.position ? first : second);
+        }
+    }
+
+    /**
+     * The first occurrence of a word.
+     */
+    private static class Occurrence {
+        private final String word;
+        private final long position;
+
+        Occurrence(String word, long position) {
+            this.word = word;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package model;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This class draws word ranks from a category without repeating any of them until all have been drawn.
+ * <p>
+ * Instead of remembering the words already used, the sampler walks a pseudo-random permutation of the ranks, given by
+ * a Feistel network keyed with a seed. The whole state is the seed, the position in the permutation and the size of
+ * the category, so it takes a few bytes to save and every draw takes constant expected time. When the category is
+ * exhausted, or its size or dictionary changes, a new permutation is started.
+ */
+public class WordSampler implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int ROUNDS = 4;
+
+    private long seed;
+    private int position;
+    private int size;
+    private long dictionaryVersion;
+
+    /**
+     * Constructs a sampler with a random seed.
+     */
+    public WordSampler() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a sampler with the given seed, which makes the order of draws reproducible.
+     *
+     * @param seed the seed of the first permutation
+     */
+    public WordSampler(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the seed of the current permutation.
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Draws the next rank.
+     *
+     * @param size              the number of words to choose from
+     * @param dictionaryVersion the version of the dictionary the words come from
+     * @return a rank between 0 and size minus one
+     */
+    public int next(int size, long dictionaryVersion) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Nothing to sample from");
+        }
+        if (size != this.size || dictionaryVersion != this.dictionaryVersion) {
+            this.size = size;
+            this.dictionaryVersion = dictionaryVersion;
+            position = 0;
+        } else if (position >= size) {
+            seed = mix(seed + 0x9E3779B97F4A7C15L);
+            position = 0;
+        }
+        return permute(position++);
+    }
+
+    /**
+     * Gets the number of words drawn from the current permutation.
+     *
+     * @return the position in the permutation
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    private int permute(int index) {
+        int bits = Math.max(2, 32 - Integer.numberOfLeadingZeros(size - 1));
+        bits += bits & 1;
+        int halfBits = bits / 2;
+        long halfMask = (1L << halfBits) - 1;
+        long value = index;
+        // Cycle walking: vrijednosti izvan raspona se ponovno permutiraju
+        do {
+            long left = value >>> halfBits;
+            long right = value & halfMask;
+            for (int round = 0; round < ROUNDS; round++) {
+                long next = left ^ (mix(right ^ (seed + round)) & halfMask);
+                left = right;
+                right = next;
+            }
+            value = left << halfBits | right;
+        } while (value >= size);
+        return (int) value;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,145 @@
+package server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * This class holds the state of one client of the {@link GameServer}: the bytes read so far, the replies waiting to be
+ * written and the game session of the player. Reading and writing happen only on the selector thread; replies are
+ * produced by the session executor and handed over through the outbound queue.
+ * <p>
+ * A client that sends commands faster than it reads the replies is not read from while more than
+ * {@value #MAX_QUEUED_BYTES} bytes of replies wait to be written, so the queue is bounded by the cap plus the replies
+ * to the commands already read.
+ */
+class ClientConnection {
+    static final int MAX_LINE_LENGTH = 1024;
+    static final int MAX_QUEUED_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_LENGTH);
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    // Naredbe jedne veze izvršavaju se redom, pa i odgovori stižu redom
+    private CompletableFuture<Void> pending = CompletableFuture.completedFuture(null);
+    private volatile String sessionId;
+    private volatile boolean closing;
+
+    ClientConnection(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    String getSessionId() {
+        return sessionId;
+    }
+
+    void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    boolean isClosing() {
+        return closing;
+    }
+
+    /**
+     * Marks the connection to be closed once all queued replies are written.
+     */
+    void closeAfterWrite() {
+        closing = true;
+    }
+
+    /**
+     * Chains a command after the commands received before it on this connection.
+     *
+     * @param command the command, started when the previous one has replied
+     */
+    void chain(Supplier<CompletableFuture<Void>> command) {
+        pending = pending.thenCompose(ignored -> command.get());
+    }
+
+    /**
+     * Reads what the channel has available and returns the complete lines.
+     *
+     * @param lines receives every complete line, without the line terminator
+     * @return false if the client closed the connection or sent a line that is too long
+     * @throws IOException if reading fails
+     */
+    boolean read(List<String> lines) throws IOException {
+        int read = channel.read(input);
+        if (read < 0) {
+            return false;
+        }
+        input.flip();
+        int lineStart = 0;
+        for (int i = input.position(); i < input.limit(); i++) {
+            if (input.get(i) == '\n') {
+                int end = i > lineStart && input.get(i - 1) == '\r' ? i - 1 : i;
+                byte[] bytes = new byte[end - lineStart];
+                input.get(lineStart, bytes);
+                lines.add(new String(bytes, StandardCharsets.UTF_8));
+                lineStart = i + 1;
+            }
+        }
+        input.position(lineStart);
+        input.compact();
+        return input.hasRemaining();
+    }
+
+    /**
+     * Queues a reply. The caller has to ask the selector thread to flush the connection.
+     *
+     * @param reply the reply, one or more lines ending with a line terminator
+     */
+    void queue(String reply) {
+        byte[] bytes = reply.getBytes(StandardCharsets.UTF_8);
+        queuedBytes.addAndGet(bytes.length);
+        outbound.add(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Checks whether the replies waiting to be written leave room for reading more commands.
+     *
+     * @return false while the queued replies exceed {@value #MAX_QUEUED_BYTES} bytes
+     */
+    boolean canRead() {
+        return queuedBytes.get() <= MAX_QUEUED_BYTES;
+    }
+
+    /**
+     * Writes as many queued replies as the channel accepts.
+     *
+     * @return true if everything was written
+     * @throws IOException if writing fails
+     */
+    boolean flush() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = outbound.peek()) != null) {
+            queuedBytes.addAndGet(-channel.write(buffer));
+            if (buffer.hasRemaining()) {
+                return false;
+            }
+            outbound.poll();
+        }
+        return true;
+    }
+}
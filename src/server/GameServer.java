@@ -0,0 +1,398 @@
+package server;
+
+import model.DictionaryService;
+import model.GameEngine;
+import model.GameSessionManager;
+import model.GameStateStore;
+import model.GuessState;
+import model.HighscoreManager;
+import model.PlayerStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * This class serves hangman over a line-based TCP protocol. One selector thread accepts connections, reads commands
+ * and writes replies for every client; the commands themselves run in the sessions of a {@link GameSessionManager},
+ * so a slow command never holds up other clients.
+ * <p>
+ * Every command is one line and gets one reply, in the order the commands were sent:
+ * <ul>
+ *     <li>{@code NEW <category> <player>} starts playing, and a later {@code NEW} starts the next word</li>
+ *     <li>{@code GUESS <letter or word>} replies with the outcome of the guess instead of {@code STATE}</li>
+ *     <li>{@code STATE} replies with the current game</li>
+ *     <li>{@code LEADERBOARD [count]} replies {@code LEADERBOARD <n>} followed by n lines {@code <score> <player>}</li>
+ *     <li>{@code QUIT} saves the player's progress, replies {@code BYE} and closes the connection</li>
+ * </ul>
+ * A game is described as {@code <tag> <incorrect>/<max> <score> <missed letters or -> <word>}, where the unrevealed
+ * letters of the word are underscores until the game is over. Errors are replied as {@code ERROR <message>}.
+ */
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 4444;
+    private static final int DEFAULT_LEADERBOARD_SIZE = 10;
+    private static final int MAX_LEADERBOARD_SIZE = 100;
+    private static final String BYE = "BYE\n";
+    private static final Pattern PLAYER_NAME = Pattern.compile("[\\p{L}\\p{N}_ -]{1,32}");
+
+    private final GameSessionManager sessionManager;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Queue<ClientConnection> flushQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile boolean running;
+    private Thread selectorThread;
+
+    /**
+     * Constructs a server and binds it to a port. Clients are not served until {@link #start()} is called.
+     *
+     * @param port           the port to listen on, or 0 for any free port
+     * @param sessionManager the manager that hosts the games of the clients
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port, GameSessionManager sessionManager) throws IOException {
+        this.sessionManager = sessionManager;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts the selector thread.
+     */
+    public synchronized void start() {
+        running = true;
+        selectorThread = new Thread(this::run, "game-server");
+        selectorThread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public GameSessionManager getSessionManager() {
+        return sessionManager;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+                ClientConnection connection;
+                while ((connection = flushQueue.poll()) != null) {
+                    flush(connection);
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    connection = (ClientConnection) key.attachment();
+                    if (key.isReadable()) {
+                        read(connection);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(connection);
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new ClientConnection(channel, key));
+            connections.incrementAndGet();
+        }
+    }
+
+    private void read(ClientConnection connection) {
+        List<String> lines = new ArrayList<>();
+        boolean open;
+        try {
+            open = connection.read(lines);
+        } catch (IOException e) {
+            open = false;
+        }
+        for (String line : lines) {
+            if (!line.isBlank()) {
+                connection.chain(() -> execute(connection, line.trim())
+                        .exceptionally(GameServer::error)
+                        .thenAccept(reply -> reply(connection, reply)));
+            }
+        }
+        if (!open) {
+            disconnect(connection);
+        }
+    }
+
+    private void flush(ClientConnection connection) {
+        SelectionKey key = connection.getKey();
+        if (!key.isValid()) {
+            return;
+        }
+        // Zastavica se čita prije pražnjenja, da zadnji odgovor ne ostane nenapisan
+        boolean closing = connection.isClosing();
+        try {
+            boolean flushed = connection.flush();
+            if (flushed && closing) {
+                disconnect(connection);
+            } else {
+                // Klijent koji ne čita odgovore ne čitamo ni mi, dok se red ne isprazni
+                key.interestOps((connection.canRead() ? SelectionKey.OP_READ : 0)
+                        | (flushed ? 0 : SelectionKey.OP_WRITE));
+            }
+        } catch (IOException e) {
+            disconnect(connection);
+        }
+    }
+
+    /**
+     * Queues a reply and wakes the selector thread to write it. Called from the session executor.
+     */
+    private void reply(ClientConnection connection, String reply) {
+        connection.queue(reply);
+        if (reply.equals(BYE)) {
+            connection.closeAfterWrite();
+        }
+        flushQueue.add(connection);
+        selector.wakeup();
+    }
+
+    private void disconnect(ClientConnection connection) {
+        SocketChannel channel = connection.getChannel();
+        if (!channel.isOpen()) {
+            return;
+        }
+        connection.getKey().cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        connections.decrementAndGet();
+        // Sesija se zatvara tek nakon naredbi koje su već primljene
+        connection.chain(() -> {
+            String sessionId = connection.getSessionId();
+            connection.setSessionId(null);
+            return sessionId == null ? CompletableFuture.completedFuture(null) : sessionManager.closeSession(sessionId);
+        });
+    }
+
+    private CompletableFuture<String> execute(ClientConnection connection, String line) {
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase();
+        String argument = space < 0 ? "" : line.substring(space + 1).trim();
+        String sessionId = connection.getSessionId();
+        switch (command) {
+            case "NEW":
+                return newGame(connection, argument);
+            case "GUESS":
+                if (sessionId == null) {
+                    return completed("ERROR No game, send NEW first");
+                }
+                if (argument.isEmpty()) {
+                    return completed("ERROR Nothing to guess");
+                }
+                return sessionManager.guess(sessionId, argument, (engine, outcome) -> describe(outcome.name(), engine));
+            case "STATE":
+                if (sessionId == null) {
+                    return completed("ERROR No game, send NEW first");
+                }
+                return sessionManager.submit(sessionId, engine -> describe("STATE", engine));
+            case "LEADERBOARD":
+                return leaderboard(argument);
+            case "QUIT":
+                connection.setSessionId(null);
+                if (sessionId == null) {
+                    return CompletableFuture.completedFuture(BYE);
+                }
+                return sessionManager.closeSession(sessionId).thenApply(ignored -> BYE);
+            default:
+                return completed("ERROR Unknown command " + command);
+        }
+    }
+
+    private CompletableFuture<String> newGame(ClientConnection connection, String argument) {
+        String sessionId = connection.getSessionId();
+        if (sessionId != null) {
+            return sessionManager.submit(sessionId, engine -> {
+                engine.startNewGame();
+                return describe("STATE", engine);
+            });
+        }
+        int space = argument.indexOf(' ');
+        if (space < 0) {
+            return completed("ERROR Usage: NEW <category> <player>");
+        }
+        String category = argument.substring(0, space);
+        String playerName = argument.substring(space + 1).trim();
+        if (!DictionaryService.getDictionary().getCategories().contains(category)) {
+            return completed("ERROR Unknown category " + category);
+        }
+        if (!PLAYER_NAME.matcher(playerName).matches()) {
+            return completed("ERROR Invalid player name");
+        }
+        sessionId = sessionManager.createSession(playerName, category);
+        connection.setSessionId(sessionId);
+        return sessionManager.submit(sessionId, engine -> describe("STATE", engine));
+    }
+
+    private CompletableFuture<String> leaderboard(String argument) {
+        int size = DEFAULT_LEADERBOARD_SIZE;
+        if (!argument.isEmpty()) {
+            try {
+                size = Math.max(1, Math.min(MAX_LEADERBOARD_SIZE, Integer.parseInt(argument)));
+            } catch (NumberFormatException e) {
+                return completed("ERROR Invalid count " + argument);
+            }
+        }
+        int count = size;
+        return CompletableFuture.supplyAsync(() -> {
+            List<PlayerStats> scores = GameStateStore.loadScores();
+            int lines = Math.min(count, scores.size());
+            StringBuilder reply = new StringBuilder("LEADERBOARD ").append(lines).append('\n');
+            for (int i = 0; i < lines; i++) {
+                PlayerStats stats = scores.get(i);
+                reply.append(stats.getScore()).append(' ').append(stats.getPlayerName()).append('\n');
+            }
+            return reply.toString();
+        }, workers);
+    }
+
+    /**
+     * Describes the current game of an engine as one reply line.
+     */
+    private static String describe(String tag, GameEngine engine) {
+        StringBuilder reply = new StringBuilder(64).append(tag).append(' ')
+                .append(engine.getIncorrectGuesses()).append('/').append(GameEngine.MAX_INCORRECT_GUESSES).append(' ')
+                .append(engine.getScore()).append(' ');
+        GuessState state = engine.getGuessState();
+        if (state == null) {
+            return reply.append("- -\n").toString();
+        }
+        int missedStart = reply.length();
+        CharSequence missed = state.getMissedLetters();
+        for (int i = 0; i < missed.length(); i++) {
+            char c = missed.charAt(i);
+            if (Character.isLetter(c)) {
+                reply.append(c);
+            }
+        }
+        if (reply.length() == missedStart) {
+            reply.append('-');
+        }
+        reply.append(' ');
+        String word = state.getWord();
+        boolean gameOver = engine.isGameOver();
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            reply.append(gameOver || !Character.isLetter(c) || state.isTried(c) ? c : '_');
+        }
+        return reply.append('\n').toString();
+    }
+
+    private static CompletableFuture<String> completed(String line) {
+        return CompletableFuture.completedFuture(line + "\n");
+    }
+
+    private static String error(Throwable t) {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        String message = cause.getMessage();
+        return "ERROR " + (message != null ? message : cause.getClass().getSimpleName()) + "\n";
+    }
+
+    /**
+     * Stops accepting clients, closes every connection and closes the sessions, saving the players' progress. The
+     * saved stats are then written out, because the stats writer's own shutdown hook may already have run when the
+     * server is closed from another one.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            if (selectorThread != null) {
+                selectorThread.join();
+            }
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+            serverChannel.close();
+            sessionManager.shutdown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdown();
+            HighscoreManager.getInstance().flush();
+        }
+    }
+
+    /**
+     * Starts a server. The first argument is the port, {@value #DEFAULT_PORT} by default; with {@code --transient}
+     * player progress is kept in memory only, which is useful for load tests.
+     *
+     * @param args the port and options
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        boolean persistent = true;
+        for (String arg : args) {
+            if (arg.equals("--transient")) {
+                persistent = false;
+            } else {
+                port = Integer.parseInt(arg);
+            }
+        }
+        DictionaryService.startReloading();
+        GameServer server = new GameServer(port, new GameSessionManager(persistent));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }));
+        server.start();
+        System.out.println("Hangman server listening on port " + server.getPort());
+    }
+}
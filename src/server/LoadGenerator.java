@@ -0,0 +1,163 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * This class plays many clients against a {@link GameServer} at the same time and reports how long the server took to
+ * answer. Each client runs on its own virtual thread, starts a game and guesses random letters, starting the next
+ * word whenever a game ends. Only the commands themselves are timed, not connecting.
+ * <p>
+ * Run the server with {@code --transient} so the generated players are not saved.
+ */
+public class LoadGenerator {
+    private static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final String host;
+    private final int port;
+    private final String category;
+
+    /**
+     * Constructs a load generator.
+     *
+     * @param host     the host of the server
+     * @param port     the port of the server
+     * @param category the category the clients play
+     */
+    public LoadGenerator(String host, int port, String category) {
+        this.host = host;
+        this.port = port;
+        this.category = category;
+    }
+
+    /**
+     * Runs the clients and waits until all of them have sent their commands.
+     *
+     * @param clients  the number of concurrent clients
+     * @param commands the number of commands each client sends after starting its first game
+     * @return the latencies of all commands in nanoseconds, sorted
+     * @throws Exception if a client fails
+     */
+    public long[] run(int clients, int commands) throws Exception {
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                results.add(executor.submit(() -> play(client, commands)));
+            }
+        }
+        long[] latencies = new long[clients * commands];
+        int count = 0;
+        for (Future<long[]> result : results) {
+            long[] clientLatencies = result.get();
+            System.arraycopy(clientLatencies, 0, latencies, count, clientLatencies.length);
+            count += clientLatencies.length;
+        }
+        Arrays.sort(latencies, 0, count);
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private long[] play(int client, int commands) throws IOException {
+        long[] latencies = new long[commands];
+        Random random = new Random(client);
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+            send(out, in, "NEW " + category + " load-" + client);
+            char[] letters = ALPHABET.toCharArray();
+            int next = letters.length;
+            for (int i = 0; i < commands; i++) {
+                String command;
+                if (next == letters.length) {
+                    shuffle(letters, random);
+                    next = 0;
+                    command = i == 0 ? "STATE" : "NEW";
+                } else {
+                    command = "GUESS " + letters[next++];
+                }
+                long start = System.nanoTime();
+                String reply = send(out, in, command);
+                latencies[i] = System.nanoTime() - start;
+                if (reply.startsWith("WON") || reply.startsWith("LOST")) {
+                    next = letters.length;
+                }
+            }
+            send(out, in, "QUIT");
+        }
+        return latencies;
+    }
+
+    private static String send(Writer out, BufferedReader in, String command) throws IOException {
+        out.write(command);
+        out.write('\n');
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null) {
+            throw new IOException("Server closed the connection");
+        }
+        if (reply.startsWith("ERROR")) {
+            throw new IOException(reply);
+        }
+        return reply;
+    }
+
+    private static void shuffle(char[] letters, Random random) {
+        for (int i = letters.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char c = letters[i];
+            letters[i] = letters[j];
+            letters[j] = c;
+        }
+    }
+
+    /**
+     * Gets a percentile of sorted latencies.
+     *
+     * @param latencies  the sorted latencies
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency at the percentile
+     */
+    public static long percentile(long[] latencies, double percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+        return latencies[Math.max(0, Math.min(latencies.length - 1, index))];
+    }
+
+    /**
+     * Runs a load test against a local server.
+     * Arguments: [clients] [commands per client] [port] [host] [category], by default 1000 200 4444 localhost Animals.
+     *
+     * @param args the arguments
+     * @throws Exception if the load test fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int port = args.length > 2 ? Integer.parseInt(args[2]) : GameServer.DEFAULT_PORT;
+        String host = args.length > 3 ? args[3] : "localhost";
+        String category = args.length > 4 ? args[4] : "Animals";
+
+        long start = System.nanoTime();
+        long[] latencies = new LoadGenerator(host, port, category).run(clients, commands);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d clients, %d commands in %.2f s (%.0f commands/s)%n",
+                clients, latencies.length, seconds, latencies.length / seconds);
+        System.out.printf("p50 %.3f ms, p99 %.3f ms, max %.3f ms%n", percentile(latencies, 50) / 1e6,
+                percentile(latencies, 99) / 1e6, percentile(latencies, 100) / 1e6);
+    }
+}
@@ -0,0 +1,267 @@
+package server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.LeaderboardEntry;
+import model.PlayerStats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * This class serves the high scores as JSON over HTTP, from a shared {@link StatsView}:
+ * <ul>
+ *     <li>{@code GET /leaderboard?limit=N} the top players</li>
+ *     <li>{@code GET /players/<name>} the stats of one player</li>
+ *     <li>{@code GET /categories/<category>?limit=N} the top players of one category</li>
+ * </ul>
+ * Every response carries the entity tag of the stats it was rendered from. A client that sends it back in
+ * {@code If-None-Match} gets {@code 304 Not Modified} until the stats change, so polling dashboards cost almost
+ * nothing. Requests are handled on virtual threads.
+ */
+public class StatsHttpServer implements Closeable {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = StatsView.CATEGORY_LEADERBOARD_SIZE;
+    private static final String PLAYERS_PATH = "/players/";
+    private static final String CATEGORIES_PATH = "/categories/";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StatsView stats;
+
+    /**
+     * Constructs a server and binds it to a port. Requests are not served until {@link #start()} is called.
+     *
+     * @param port  the port to listen on, or 0 for any free port
+     * @param stats the stats to serve
+     * @throws IOException if the port cannot be bound
+     */
+    public StatsHttpServer(int port, StatsView stats) throws IOException {
+        this.stats = stats;
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                send(exchange, 405, "{\"error\":\"Method not allowed\"}");
+                return;
+            }
+            int limit = getLimit(exchange.getRequestURI().getRawQuery());
+            if (limit < 0) {
+                send(exchange, 400, "{\"error\":\"Invalid limit\"}");
+                return;
+            }
+            StatsView.Snapshot snapshot = stats.getSnapshot();
+            String body = route(snapshot, exchange.getRequestURI().getPath(), limit);
+            if (body == null) {
+                send(exchange, 404, "{\"error\":\"Not found\"}");
+                return;
+            }
+            Headers headers = exchange.getResponseHeaders();
+            String etag = snapshot.getETag();
+            headers.set("ETag", etag);
+            headers.set("Cache-Control", "no-cache");
+            if (matches(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            send(exchange, 200, body);
+        }
+    }
+
+    private static String route(StatsView.Snapshot snapshot, String path, int limit) {
+        if (path.equals("/leaderboard")) {
+            return snapshot.render("leaderboard " + limit, () -> renderLeaderboard(snapshot, limit));
+        }
+        if (path.startsWith(PLAYERS_PATH)) {
+            String playerName = path.substring(PLAYERS_PATH.length());
+            PlayerStats player = snapshot.getPlayer(playerName);
+            return player == null ? null : snapshot.render("player " + playerName, () -> renderPlayer(snapshot, player));
+        }
+        if (path.startsWith(CATEGORIES_PATH)) {
+            String category = path.substring(CATEGORIES_PATH.length());
+            // Samo postojeće kategorije idu u predmemoriju
+            if (!snapshot.hasCategory(category)) {
+                return "{\"category\":" + quote(category) + ",\"players\":[]}";
+            }
+            return snapshot.render("category " + limit + " " + category,
+                    () -> renderCategory(snapshot, category, limit));
+        }
+        return null;
+    }
+
+    private static String renderLeaderboard(StatsView.Snapshot snapshot, int limit) {
+        List<PlayerStats> players = snapshot.getPlayers();
+        StringBuilder json = new StringBuilder("{\"players\":[");
+        for (int i = 0; i < Math.min(limit, players.size()); i++) {
+            PlayerStats stats = players.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"rank\":").append(i + 1)
+                    .append(",\"name\":").append(quote(stats.getPlayerName()))
+                    .append(",\"score\":").append(stats.getScore())
+                    .append(",\"wordsGuessed\":").append(stats.getWordsGuessed())
+                    .append(",\"gamesPlayed\":").append(stats.getGamesPlayed()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String renderPlayer(StatsView.Snapshot snapshot, PlayerStats stats) {
+        StringBuilder json = new StringBuilder("{\"name\":").append(quote(stats.getPlayerName()))
+                .append(",\"rank\":").append(snapshot.getRank(stats.getPlayerName()))
+                .append(",\"score\":").append(stats.getScore())
+                .append(",\"wordsGuessed\":").append(stats.getWordsGuessed())
+                .append(",\"gamesPlayed\":").append(stats.getGamesPlayed())
+                .append(",\"categoryScores\":{");
+        boolean first = true;
+        for (Map.Entry<String, Integer> entry : stats.getCategoryScores().entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append(quote(entry.getKey())).append(':').append(entry.getValue());
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String renderCategory(StatsView.Snapshot snapshot, String category, int limit) {
+        List<LeaderboardEntry> players = snapshot.getCategoryLeaderboard(category, limit);
+        StringBuilder json = new StringBuilder("{\"category\":").append(quote(category)).append(",\"players\":[");
+        for (int i = 0; i < players.size(); i++) {
+            LeaderboardEntry entry = players.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"rank\":").append(i + 1)
+                    .append(",\"name\":").append(quote(entry.getPlayerName()))
+                    .append(",\"score\":").append(entry.getScore()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Reads the limit parameter of a query.
+     *
+     * @return the limit, or -1 if it is not a number
+     */
+    private static int getLimit(String query) {
+        if (query == null) {
+            return DEFAULT_LIMIT;
+        }
+        for (String parameter : query.split("&")) {
+            if (parameter.startsWith("limit=")) {
+                try {
+                    return Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(parameter.substring(6))));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return DEFAULT_LIMIT;
+    }
+
+    /**
+     * Checks an If-None-Match header against an entity tag, allowing a list of tags, weak tags and {@code *}.
+     */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String quote(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /**
+     * Starts a server. The first argument is the port, {@value #DEFAULT_PORT} by default.
+     *
+     * @param args the port
+     * @throws IOException if the server cannot be started
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        StatsHttpServer server = new StatsHttpServer(port, new StatsView());
+        server.start();
+        System.out.println("Hangman stats listening on http://localhost:" + server.getPort() + "/leaderboard");
+    }
+}
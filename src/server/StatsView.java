@@ -0,0 +1,188 @@
+package server;
+
+import model.CategoryLeaderboard;
+import model.HighscoreManager;
+import model.LeaderboardEntry;
+import model.PlayerStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * This class keeps the high score list in memory, shared by every request. The stats file and its journal are read
+ * again only when the modification time or size of either has changed, and the files are looked at no more than every
+ * {@value #CHECK_INTERVAL_MILLIS} ms, so a request normally costs no file access at all.
+ */
+public class StatsView {
+    static final int CATEGORY_LEADERBOARD_SIZE = 1000;
+    private static final long CHECK_INTERVAL_MILLIS = 250;
+    private static final long CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MILLIS);
+
+    private final Path file;
+    private final Path journal;
+    private volatile Snapshot snapshot;
+    private volatile long lastCheck;
+
+    /**
+     * Constructs a view of the stats file of the {@link HighscoreManager}.
+     */
+    public StatsView() {
+        this(Paths.get(HighscoreManager.STATS_FILE));
+    }
+
+    /**
+     * Constructs a view of a stats file.
+     *
+     * @param file the stats file
+     */
+    public StatsView(Path file) {
+        this.file = file;
+        this.journal = HighscoreManager.journalFor(file);
+    }
+
+    /**
+     * Gets the current stats, reading the file again if it has changed.
+     *
+     * @return the snapshot of the stats
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null && System.nanoTime() - lastCheck < CHECK_INTERVAL_NANOS) {
+            return current;
+        }
+        return refresh();
+    }
+
+    private synchronized Snapshot refresh() {
+        long now = System.nanoTime();
+        if (snapshot != null && now - lastCheck < CHECK_INTERVAL_NANOS) {
+            return snapshot;
+        }
+        lastCheck = now;
+        String version = getFileVersion();
+        if (snapshot == null || !snapshot.version.equals(version)) {
+            snapshot = new Snapshot(version, HighscoreManager.readStatsFile(file));
+        }
+        return snapshot;
+    }
+
+    private String getFileVersion() {
+        try {
+            return getFileVersion(file) + "-" + getFileVersion(journal);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return snapshot == null ? "0-0-0-0" : snapshot.version;
+        }
+    }
+
+    private static String getFileVersion(Path path) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return Long.toHexString(attributes.lastModifiedTime().toMillis()) + "-" + Long.toHexString(attributes.size());
+        } catch (NoSuchFileException e) {
+            return "0-0";
+        }
+    }
+
+    /**
+     * The stats as they were read from one version of the file. A snapshot never changes, so responses rendered from
+     * it are kept and reused until the file changes. The best players of a category are collected into a
+     * {@link CategoryLeaderboard} of {@value #CATEGORY_LEADERBOARD_SIZE} players the first time the category is asked
+     * for, and every later request for it reads that board.
+     */
+    public static class Snapshot {
+        private final String version;
+        private final List<PlayerStats> players;
+        private final Map<String, Integer> ranks = new HashMap<>();
+        private final Set<String> categories = new TreeSet<>();
+        private final Map<String, String> rendered = new ConcurrentHashMap<>();
+        private final Map<String, CategoryLeaderboard> categoryLeaderboards = new ConcurrentHashMap<>();
+
+        Snapshot(String version, List<PlayerStats> players) {
+            this.version = version;
+            this.players = Collections.unmodifiableList(players);
+            for (int i = 0; i < players.size(); i++) {
+                PlayerStats stats = players.get(i);
+                ranks.putIfAbsent(stats.getPlayerName(), i + 1);
+                categories.addAll(stats.getCategoryScores().keySet());
+            }
+        }
+
+        /**
+         * Gets the entity tag of this version of the stats, quoted as in an HTTP header.
+         *
+         * @return the entity tag
+         */
+        public String getETag() {
+            return "\"" + version + "\"";
+        }
+
+        /**
+         * Gets the players ordered from the highest score down.
+         *
+         * @return the players
+         */
+        public List<PlayerStats> getPlayers() {
+            return players;
+        }
+
+        /**
+         * Gets the place of a player in the high score list.
+         *
+         * @param playerName the name of the player
+         * @return the rank starting at 1, or 0 if the player has no stats
+         */
+        public int getRank(String playerName) {
+            return ranks.getOrDefault(playerName, 0);
+        }
+
+        public PlayerStats getPlayer(String playerName) {
+            int rank = getRank(playerName);
+            return rank == 0 ? null : players.get(rank - 1);
+        }
+
+        public boolean hasCategory(String category) {
+            return categories.contains(category);
+        }
+
+        /**
+         * Gets the best players of a category.
+         *
+         * @param category the category
+         * @param count    the number of players, at most {@value #CATEGORY_LEADERBOARD_SIZE}
+         * @return up to count players, from the highest category score down
+         */
+        public List<LeaderboardEntry> getCategoryLeaderboard(String category, int count) {
+            List<LeaderboardEntry> entries = categoryLeaderboards.computeIfAbsent(category, name -> {
+                CategoryLeaderboard board = new CategoryLeaderboard(name, CATEGORY_LEADERBOARD_SIZE);
+                board.rebuild(players);
+                return board;
+            }).getEntries();
+            return entries.subList(0, Math.min(count, entries.size()));
+        }
+
+        /**
+         * Gets a response rendered from this snapshot, rendering it the first time it is asked for.
+         *
+         * @param key    identifies the response
+         * @param render renders the response
+         * @return the response
+         */
+        String render(String key, Supplier<String> render) {
+            return rendered.computeIfAbsent(key, k -> render.get());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package simulation;
+
+import model.GameEngine;
+import model.GuessState;
+
+/**
+ * This strategy guesses the letters in the order of their frequency in English text, skipping letters already tried.
+ */
+public class FrequencyStrategy implements PlayerStrategy {
+    private static final String LETTERS = "ETAOINSRHLDCUMFPGWYBVKXJQZ";
+
+    @Override
+    public String nextGuess(GameEngine engine) {
+        GuessState state = engine.getGuessState();
+        for (int i = 0; i < LETTERS.length(); i++) {
+            char letter = LETTERS.charAt(i);
+            if (!state.isTried(letter)) {
+                return String.valueOf(letter);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,18 @@
+package simulation;
+
+import model.GameEngine;
+
+/**
+ * This interface should be implemented by every way a simulated player can choose guesses. A strategy belongs to one
+ * player and is only used from one thread at a time, so it can keep state between guesses.
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Chooses the next guess for the game in progress on the engine.
+     *
+     * @param engine the engine of the player, with a game in progress
+     * @return a letter or a whole word to guess, or null to give up the game
+     */
+    String nextGuess(GameEngine engine);
+}
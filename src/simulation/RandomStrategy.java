@@ -0,0 +1,38 @@
+package simulation;
+
+import model.GameEngine;
+import model.GuessState;
+
+import java.util.Random;
+
+/**
+ * This strategy guesses random letters that have not been tried yet, like a player who knows nothing about words.
+ */
+public class RandomStrategy implements PlayerStrategy {
+    private final Random random;
+
+    /**
+     * Constructs a random strategy.
+     *
+     * @param seed the seed of the random letters, so a simulation can be repeated
+     */
+    public RandomStrategy(long seed) {
+        random = new Random(seed);
+    }
+
+    @Override
+    public String nextGuess(GameEngine engine) {
+        GuessState state = engine.getGuessState();
+        int untried = Long.bitCount(~state.getTriedMask() & ((1L << 26) - 1));
+        if (untried == 0) {
+            return null;
+        }
+        int skip = random.nextInt(untried);
+        for (char letter = 'A'; letter <= 'Z'; letter++) {
+            if (!state.isTried(letter) && skip-- == 0) {
+                return String.valueOf(letter);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+package simulation;
+
+import model.GameEngine;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * This class adds up the games of a simulation: totals over all players and, for every category, how many games were
+ * won and how the win rates of the players in that category are distributed. Results of parts of a simulation are
+ * merged into one.
+ */
+public class SimulationResult {
+    public static final int HISTOGRAM_BUCKETS = 10;
+
+    private long games;
+    private long wins;
+    private long guesses;
+    private long abandonedGames;
+    private long totalScore;
+    private final Map<String, CategoryResult> categories = new TreeMap<>();
+    private int threads;
+    private long elapsedNanos;
+
+    /**
+     * Adds the games of one player, as counted by the player's engine.
+     *
+     * @param engine         the engine of the player after the last game
+     * @param guesses        the number of guesses the player made
+     * @param abandonedGames the number of games the strategy gave up
+     */
+    void addPlayer(GameEngine engine, long guesses, long abandonedGames) {
+        games += engine.getGamesPlayed();
+        wins += engine.getWordsGuessed();
+        totalScore += engine.getScore();
+        this.guesses += guesses;
+        this.abandonedGames += abandonedGames;
+        categories.computeIfAbsent(engine.getCategory(), c -> new CategoryResult())
+                .addPlayer(engine.getGamesPlayed(), engine.getWordsGuessed());
+    }
+
+    /**
+     * Adds the totals of another result to this one.
+     *
+     * @param other the result to add
+     * @return this result
+     */
+    SimulationResult merge(SimulationResult other) {
+        games += other.games;
+        wins += other.wins;
+        guesses += other.guesses;
+        abandonedGames += other.abandonedGames;
+        totalScore += other.totalScore;
+        for (Map.Entry<String, CategoryResult> entry : other.categories.entrySet()) {
+            categories.computeIfAbsent(entry.getKey(), c -> new CategoryResult()).merge(entry.getValue());
+        }
+        return this;
+    }
+
+    void setTiming(int threads, long elapsedNanos) {
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getGuesses() {
+        return guesses;
+    }
+
+    public long getAbandonedGames() {
+        return abandonedGames;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1e9;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games / getElapsedSeconds();
+    }
+
+    public double getWinRate() {
+        return games == 0 ? 0 : (double) wins / games;
+    }
+
+    /**
+     * Gets the results of every category, ordered by name.
+     *
+     * @return the results by category
+     */
+    public Map<String, CategoryResult> getCategories() {
+        return Collections.unmodifiableMap(categories);
+    }
+
+    /**
+     * The games played in one category.
+     */
+    public static class CategoryResult {
+        private long games;
+        private long wins;
+        private int players;
+        private final int[] histogram = new int[HISTOGRAM_BUCKETS];
+
+        private void addPlayer(int playerGames, int playerWins) {
+            games += playerGames;
+            wins += playerWins;
+            players++;
+            if (playerGames > 0) {
+                int bucket = (int) ((long) playerWins * HISTOGRAM_BUCKETS / playerGames);
+                histogram[Math.min(bucket, HISTOGRAM_BUCKETS - 1)]++;
+            }
+        }
+
+        private void merge(CategoryResult other) {
+            games += other.games;
+            wins += other.wins;
+            players += other.players;
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public long getWins() {
+            return wins;
+        }
+
+        public int getPlayers() {
+            return players;
+        }
+
+        public double getWinRate() {
+            return games == 0 ? 0 : (double) wins / games;
+        }
+
+        /**
+         * Gets how many players reached each win rate. Bucket i counts the players who won at least i tenths of their
+         * games and fewer than i + 1 tenths; the last bucket also holds the players who won every game.
+         *
+         * @return the number of players in each bucket
+         */
+        public int[] getWinRateHistogram() {
+            return histogram.clone();
+        }
+    }
+}
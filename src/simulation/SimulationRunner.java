@@ -0,0 +1,188 @@
+package simulation;
+
+import model.DictionaryService;
+import model.GameEngine;
+import model.GuessOutcome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntFunction;
+
+/**
+ * This class plays complete games headlessly on {@link GameEngine}s, with the same rules and scoring as the Swing
+ * game, and measures how fast they are played. Every simulated player has an engine in one category and a
+ * {@link PlayerStrategy} of its own, and plays a fixed number of games. Players are split into fork/join tasks, so
+ * a run uses every thread of its pool without any shared state between players.
+ */
+public class SimulationRunner {
+    private static final int PLAYERS_PER_TASK = 8;
+    // Zaštita od strategija koje ponavljaju iste pogreške
+    private static final int MAX_GUESSES_PER_GAME = 64;
+
+    private final List<String> categories;
+    private final IntFunction<PlayerStrategy> strategies;
+    private final int players;
+    private final int gamesPerPlayer;
+
+    /**
+     * Constructs a simulation.
+     *
+     * @param categories     the categories; players are spread over them in turn
+     * @param strategies     makes the strategy of a player from the player's number
+     * @param players        the number of simulated players
+     * @param gamesPerPlayer the number of games each player plays
+     */
+    public SimulationRunner(List<String> categories, IntFunction<PlayerStrategy> strategies, int players,
+                            int gamesPerPlayer) {
+        this.categories = categories;
+        this.strategies = strategies;
+        this.players = players;
+        this.gamesPerPlayer = gamesPerPlayer;
+    }
+
+    /**
+     * Runs the simulation on a pool with the given number of threads.
+     *
+     * @param threads the parallelism of the pool
+     * @return the result of the simulation
+     */
+    public SimulationResult run(int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            SimulationResult result = pool.invoke(new PlayerTask(0, players));
+            result.setTiming(threads, System.nanoTime() - start);
+            return result;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the simulation once for every number of threads from 1 to a maximum, after one untimed run to warm up.
+     *
+     * @param maxThreads the largest number of threads
+     * @return the results, the first one with a single thread
+     */
+    public List<SimulationResult> runScaling(int maxThreads) {
+        run(maxThreads);
+        List<SimulationResult> results = new ArrayList<>();
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            results.add(run(threads));
+        }
+        return results;
+    }
+
+    private SimulationResult play(int player) {
+        GameEngine engine = new GameEngine("simulated-" + player, categories.get(player % categories.size()));
+        PlayerStrategy strategy = strategies.apply(player);
+        long guesses = 0;
+        long abandonedGames = 0;
+        for (int game = 0; game < gamesPerPlayer; game++) {
+            engine.startNewGame();
+            for (int i = 0; !engine.isGameOver(); i++) {
+                String guess = i < MAX_GUESSES_PER_GAME ? strategy.nextGuess(engine) : null;
+                if (guess == null) {
+                    abandonedGames++;
+                    break;
+                }
+                guesses++;
+                if (engine.guess(guess) == GuessOutcome.INVALID && i + 1 == MAX_GUESSES_PER_GAME) {
+                    abandonedGames++;
+                    break;
+                }
+            }
+        }
+        SimulationResult result = new SimulationResult();
+        result.addPlayer(engine, guesses, abandonedGames);
+        return result;
+    }
+
+    /**
+     * Plays a range of players, splitting it while it is larger than a few players.
+     */
+    private class PlayerTask extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+        private final int from;
+        private final int to;
+
+        PlayerTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= PLAYERS_PER_TASK) {
+                SimulationResult result = new SimulationResult();
+                for (int player = from; player < to; player++) {
+                    result.merge(play(player));
+                }
+                return result;
+            }
+            int middle = (from + to) >>> 1;
+            PlayerTask left = new PlayerTask(from, middle);
+            left.fork();
+            SimulationResult right = new PlayerTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Runs a simulation over every category and prints the scaling curve and the win rates.
+     * Arguments: [players] [games per player] [strategy: solver, frequency or random] [max threads], by default 1000
+     * 100 solver and the number of processors.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int gamesPerPlayer = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        String strategyName = args.length > 2 ? args[2] : "solver";
+        int maxThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        IntFunction<PlayerStrategy> strategies;
+        switch (strategyName) {
+            case "frequency":
+                strategies = player -> new FrequencyStrategy();
+                break;
+            case "random":
+                strategies = RandomStrategy::new;
+                break;
+            case "solver":
+                strategies = player -> new SolverStrategy();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        }
+        List<String> categories = DictionaryService.getDictionary().getCategories();
+        SimulationRunner runner = new SimulationRunner(categories, strategies, players, gamesPerPlayer);
+        List<SimulationResult> results = runner.runScaling(maxThreads);
+
+        System.out.printf("%d players x %d games, %s strategy%n", players, gamesPerPlayer, strategyName);
+        System.out.println("threads  games/s     speedup  efficiency");
+        double base = results.get(0).getGamesPerSecond();
+        for (SimulationResult result : results) {
+            double speedup = result.getGamesPerSecond() / base;
+            System.out.printf("%7d  %10.0f  %7.2f  %9.0f%%%n", result.getThreads(), result.getGamesPerSecond(), speedup,
+                    100 * speedup / result.getThreads());
+        }
+
+        SimulationResult last = results.get(results.size() - 1);
+        System.out.printf("%d games, %d won (%.1f %%), %d abandoned, %.1f guesses per game, score %d%n",
+                last.getGames(), last.getWins(), 100 * last.getWinRate(), last.getAbandonedGames(),
+                (double) last.getGuesses() / last.getGames(), last.getTotalScore());
+        System.out.println("category      players  win rate  players by win rate 0-10 % ... 90-100 %");
+        for (var entry : last.getCategories().entrySet()) {
+            SimulationResult.CategoryResult category = entry.getValue();
+            StringBuilder histogram = new StringBuilder();
+            for (int count : category.getWinRateHistogram()) {
+                histogram.append(String.format("%6d", count));
+            }
+            System.out.printf("%-12s  %7d  %7.1f%%%s%n", entry.getKey(), category.getPlayers(),
+                    100 * category.getWinRate(), histogram);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package simulation;
+
+import model.DictionaryService;
+import model.GameEngine;
+import model.GuessState;
+import model.HangmanSolver;
+
+/**
+ * This strategy plays like the {@link model.HangmanBot}: it guesses the letter suggested by the {@link HangmanSolver}
+ * and the whole word once only one word of the category fits. The candidates are kept between guesses and only
+ * updated with the new letters.
+ */
+public class SolverStrategy implements PlayerStrategy {
+    private final HangmanSolver solver;
+    private HangmanSolver.Candidates candidates;
+    private GuessState game;
+    private String category;
+
+    /**
+     * Constructs a solver strategy over the shared dictionary.
+     */
+    public SolverStrategy() {
+        this(DictionaryService.getSolver());
+    }
+
+    /**
+     * Constructs a solver strategy.
+     *
+     * @param solver the solver that chooses the guesses
+     */
+    public SolverStrategy(HangmanSolver solver) {
+        this.solver = solver;
+    }
+
+    @Override
+    public String nextGuess(GameEngine engine) {
+        GuessState state = engine.getGuessState();
+        String mask = state.getMask();
+        if (state != game) {
+            // Novi je krug, kandidati se postavljaju ispočetka
+            game = state;
+            if (candidates == null || !engine.getCategory().equals(category)) {
+                category = engine.getCategory();
+                candidates = solver.newGame(engine.getCategory(), mask);
+            } else {
+                candidates.reset(mask);
+            }
+        }
+        candidates.update(mask, state.getTriedLetters());
+        String word = candidates.getOnlyWord();
+        if (word != null) {
+            candidates.clear();
+            return word;
+        }
+        char letter = candidates.bestLetter();
+        return letter == 0 ? null : String.valueOf(letter);
+    }
+}
@@ -12,6 +12,8 @@ public class GameMenuBar extends JMenuBar {
         JMenu gameMenu = new JMenu("Game");
         JMenuItem newGameItem = new JMenuItem("New Game");
         JMenuItem exitItem = new JMenuItem("Exit");
+        JCheckBoxMenuItem rejectUnknownWordsItem = new JCheckBoxMenuItem("Reject Unknown Words",
+                game.isRejectUnknownWords());
 
         NewGameButtonAction newGameButtonAction = new NewGameButtonAction();
         newGameButtonAction.setNewGameButtonActionListener(game);
@@ -21,7 +23,10 @@ public class GameMenuBar extends JMenuBar {
         exitButtonAction.setExitButtonActionListener(event -> System.exit(0));
         exitItem.addActionListener(exitButtonAction);
 
+        rejectUnknownWordsItem.addActionListener(e -> game.setRejectUnknownWords(rejectUnknownWordsItem.isSelected()));
+
         gameMenu.add(newGameItem);
+        gameMenu.add(rejectUnknownWordsItem);
         gameMenu.add(exitItem);
 
         JMenu statsMenu = new JMenu("Statistics");
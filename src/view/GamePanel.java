@@ -1,14 +1,17 @@
 package view;
 
 import model.Game;
+import model.GameEngineEvent;
+import model.GameEngineListener;
 import controller.GuessButtonAction;
+import controller.HintButtonAction;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
 
-public class GamePanel implements GamePanelInterface {
+public class GamePanel implements GamePanelInterface, GameEngineListener {
     private JFrame frame;
     private JTextField letterInput;
     private JLabel wordDisplay, playerNameLabel, scoreLabel;
@@ -95,11 +98,19 @@ public class GamePanel implements GamePanelInterface {
             guessButtonAction.setGuessButtonActionListener(game);
             submitButton.addActionListener(guessButtonAction);
 
+            JButton hintButton = new JButton("Hint");
+            hintButton.setFont(latoFont.deriveFont(Font.PLAIN, 15));
+
+            HintButtonAction hintButtonAction = new HintButtonAction();
+            hintButtonAction.setHintButtonActionListener(game);
+            hintButton.addActionListener(hintButtonAction);
+
             JLabel inputLabel = new JLabel("Guess a letter or the word:");
             inputLabel.setFont(latoFont.deriveFont(Font.BOLD, 15));
             inputPanel.add(inputLabel);
             inputPanel.add(letterInput);
             inputPanel.add(submitButton);
+            inputPanel.add(hintButton);
 
             frame.add(inputPanel, BorderLayout.SOUTH);
 
@@ -110,6 +121,14 @@ public class GamePanel implements GamePanelInterface {
         frame.setVisible(true);
     }
 
+    @Override
+    public void gameStateChanged(GameEngineEvent event) {
+        updateWordDisplay(event.getEngine().getDisplayText());
+        updateMissedLetters(event.getEngine().getMissedLetters());
+        updateGallows();
+        updateScoreLabel();
+    }
+
     @Override
     public void updateGallows() {
         gallowsPanel.repaint();
@@ -135,6 +154,12 @@ public class GamePanel implements GamePanelInterface {
         letterInput.setText("");
     }
 
+    @Override
+    public void setLetterInput(String text) {
+        letterInput.setText(text);
+        letterInput.requestFocusInWindow();
+    }
+
     @Override
     public JFrame getFrame() {
         return frame;
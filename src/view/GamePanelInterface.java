@@ -8,6 +8,7 @@ public interface GamePanelInterface {
     void updateWordDisplay(String text);
     void updateMissedLetters(String text);
     void clearLetterInput();
+    void setLetterInput(String text);
     JFrame getFrame();
     String getLetterInput();
     String getWordDisplay();
@@ -2,18 +2,23 @@ package view;
 
 import controller.ExitButtonAction;
 import controller.PlayButtonAction;
+import model.DictionaryInterface;
+import model.DictionaryService;
 
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Scanner;
 
 public class Mainframe extends JFrame implements MainframeInterface {
     private Font latoFont;
     private static JComboBox<String> categoryComboBox = new JComboBox<>();
+
+    static {
+        DictionaryService.addDictionaryListener(dictionary -> SwingUtilities.invokeLater(() -> fillCategories(dictionary)));
+    }
+
     private JTextField enterName = new JTextField();
 
     public Mainframe() {
@@ -122,21 +127,7 @@ public class Mainframe extends JFrame implements MainframeInterface {
     }
 
     private void loadCategories() {
-        try {
-            File file = new File("data/words");
-            Scanner sc = new Scanner(file);
-
-            while (sc.hasNextLine()) {
-                String line = sc.nextLine().trim();
-
-                if (line.startsWith("[") && line.endsWith("]")) {
-                    String category = line.substring(1, line.length() - 1);
-                    categoryComboBox.addItem(category);
-                }
-            }
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
-        }
+        fillCategories(DictionaryService.getDictionary());
         categoryComboBox.setRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
@@ -147,6 +138,17 @@ public class Mainframe extends JFrame implements MainframeInterface {
         });
     }
 
+    private static void fillCategories(DictionaryInterface dictionary) {
+        Object selected = categoryComboBox.getSelectedItem();
+        categoryComboBox.removeAllItems();
+        for (String category : dictionary.getCategories()) {
+            categoryComboBox.addItem(category);
+        }
+        if (selected != null && dictionary.getCategories().contains(selected)) {
+            categoryComboBox.setSelectedItem(selected);
+        }
+    }
+
     @Override
     public String getPlayerName() {
         return enterName.getText();
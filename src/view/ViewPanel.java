@@ -2,7 +2,10 @@ package view;
 
 import model.Game;
 import model.HighscoreManager;
+import model.LeaderboardEntry;
+import model.LeaderboardSnapshot;
 import model.PlayerStats;
+import model.TimeWindow;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
@@ -11,12 +14,19 @@ import java.util.List;
 
 
 /**
- * This class represents the high score page of the game. It displays player statistics in a table and provides buttons
- * for navigating to the home screen, returning to the game, or exiting the application.
+ * This class represents the high score page of the game. It displays player statistics in a table, the best players of
+ * each category and of a chosen time window in further tabs, and provides buttons for navigating to the home screen,
+ * returning to the game, or exiting the application.
  */
 
 public class ViewPanel extends JFrame {
+    private static final int PLAYERS_AROUND = 2;
+    private static final int WINDOW_LEADERBOARD_SIZE = 50;
+
     private JTable scoreTable;
+    private JLabel rankLabel;
+    private JTable categoryTable;
+    private JTable windowTable;
 
     /**
      * Constructs a HighscorePage and initializes the user interface components.
@@ -33,8 +43,34 @@ public class ViewPanel extends JFrame {
         setLocationRelativeTo(null);
 
         scoreTable = new JTable();
-        JScrollPane scrollPane = new JScrollPane(scoreTable);
-        add(scrollPane, BorderLayout.CENTER);
+        JPanel playersPanel = new JPanel(new BorderLayout());
+        playersPanel.add(new JScrollPane(scoreTable), BorderLayout.CENTER);
+
+        rankLabel = new JLabel(" ", SwingConstants.CENTER);
+        if (showCurrentPlayerOnly) {
+            playersPanel.add(rankLabel, BorderLayout.NORTH);
+        }
+
+        categoryTable = new JTable();
+        JComboBox<String> categoryBox = new JComboBox<>(HighscoreManager.getInstance().getCategories().toArray(new String[0]));
+        categoryBox.addActionListener(e -> loadCategoryLeaderboard((String) categoryBox.getSelectedItem()));
+        JPanel categoryPanel = new JPanel(new BorderLayout());
+        categoryPanel.add(categoryBox, BorderLayout.NORTH);
+        categoryPanel.add(new JScrollPane(categoryTable), BorderLayout.CENTER);
+
+        windowTable = new JTable();
+        JComboBox<TimeWindow> windowBox = new JComboBox<>(TimeWindow.values());
+        windowBox.setSelectedItem(TimeWindow.WEEKLY);
+        windowBox.addActionListener(e -> loadWindowLeaderboard((TimeWindow) windowBox.getSelectedItem()));
+        JPanel windowPanel = new JPanel(new BorderLayout());
+        windowPanel.add(windowBox, BorderLayout.NORTH);
+        windowPanel.add(new JScrollPane(windowTable), BorderLayout.CENTER);
+
+        JTabbedPane tabbedPane = new JTabbedPane();
+        tabbedPane.addTab(showCurrentPlayerOnly ? "My Stats" : "All Players", playersPanel);
+        tabbedPane.addTab("Categories", categoryPanel);
+        tabbedPane.addTab("Leaderboard", windowPanel);
+        add(tabbedPane, BorderLayout.CENTER);
 
         Font latoFont;
         try {
@@ -45,12 +81,15 @@ public class ViewPanel extends JFrame {
             e.printStackTrace();
             latoFont = new Font("SansSerif", Font.PLAIN, 20); // Fallback font
         }
+        rankLabel.setFont(latoFont.deriveFont(Font.PLAIN, 18));
 
         if (showCurrentPlayerOnly) {
             loadPlayerStats(game.getPlayerName());
         } else {
             loadScores(null);
         }
+        loadCategoryLeaderboard((String) categoryBox.getSelectedItem());
+        loadWindowLeaderboard((TimeWindow) windowBox.getSelectedItem());
 
         JPanel buttonPanel = new JPanel();
         JButton homeButton = new JButton("Home Screen");
@@ -80,16 +119,19 @@ public class ViewPanel extends JFrame {
     }
 
     /**
-     * Loads and displays player scores, optionally filtering by a specific player.
+     * Loads and displays player scores, optionally showing only a specific player and the players ranked around them.
+     * Every row and the rank line are read from one snapshot, so they agree even if a save happens meanwhile.
      *
      * @param filterPlayer the name of the player to filter by, or null to show all players
      */
 
     private void loadScores(String filterPlayer) {
-        HighscoreManager highscoreManager = new HighscoreManager();
-        List<PlayerStats> playerStatsList = highscoreManager.getPlayerStatsList();
+        LeaderboardSnapshot snapshot = HighscoreManager.getInstance().getSnapshot();
+        List<PlayerStats> playerStatsList = filterPlayer == null
+                ? snapshot.getPlayers()
+                : snapshot.getPlayersAround(filterPlayer, PLAYERS_AROUND);
 
-        String[] columnNames = {"Player Name", "Score", "Words Guessed", "Games Played", "Category Scores"};
+        String[] columnNames = {"Rank", "Player Name", "Score", "Words Guessed", "Games Played", "Category Scores"};
         DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -97,15 +139,17 @@ public class ViewPanel extends JFrame {
             }
         };
 
+        int selectedRow = -1;
         for (PlayerStats stats : playerStatsList) {
-            if (filterPlayer != null && !filterPlayer.equals(stats.getPlayerName())) {
-                continue;
+            if (stats.getPlayerName().equals(filterPlayer)) {
+                selectedRow = model.getRowCount();
             }
             StringBuilder categoryScores = new StringBuilder();
             for (String category : stats.getCategoryScores().keySet()) {
                 categoryScores.append(category).append(": ").append(stats.getCategoryScores().get(category)).append(" ");
             }
             Object[] rowData = {
+                    snapshot.getRank(stats.getPlayerName()),
                     stats.getPlayerName(),
                     stats.getScore(),
                     stats.getWordsGuessed(),
@@ -115,14 +159,71 @@ public class ViewPanel extends JFrame {
             model.addRow(rowData);
         }
         scoreTable.setModel(model);
+        if (selectedRow >= 0) {
+            scoreTable.setRowSelectionInterval(selectedRow, selectedRow);
+        }
+
+        if (filterPlayer != null) {
+            PlayerStats stats = snapshot.getPlayer(filterPlayer);
+            if (stats == null) {
+                rankLabel.setText("No games saved yet");
+            } else {
+                rankLabel.setText(String.format("Rank %d of %d, better than %.0f%% of players",
+                        snapshot.getRank(filterPlayer), snapshot.getPlayerCount(),
+                        snapshot.getPercentile(stats.getScore())));
+            }
+        }
     }
 
     /**
-     * Loads and displays the statistics for a specific player.
+     * Loads and displays the statistics and the rank of a specific player.
      *
      * @param playerName the name of the player whose stats to display
      */
     private void loadPlayerStats(String playerName) {
         loadScores(playerName);
     }
+
+    /**
+     * Loads and displays the best players of a category.
+     *
+     * @param category the category, or null if no player has a category score yet
+     */
+    private void loadCategoryLeaderboard(String category) {
+        String[] columnNames = {"Rank", "Player Name", "Score"};
+        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        if (category != null) {
+            int rank = 0;
+            for (LeaderboardEntry entry : HighscoreManager.getInstance().getSnapshot().getCategoryLeaderboard(category)) {
+                model.addRow(new Object[]{++rank, entry.getPlayerName(), entry.getScore()});
+            }
+        }
+        categoryTable.setModel(model);
+    }
+
+    /**
+     * Loads and displays the players who earned the most points in a time window.
+     *
+     * @param window the time window
+     */
+    private void loadWindowLeaderboard(TimeWindow window) {
+        String[] columnNames = {"Rank", "Player Name", "Points"};
+        DefaultTableModel model = new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        int rank = 0;
+        for (LeaderboardEntry entry : HighscoreManager.getInstance().getSnapshot().getTopPlayers(window,
+                WINDOW_LEADERBOARD_SIZE)) {
+            model.addRow(new Object[]{++rank, entry.getPlayerName(), entry.getScore()});
+        }
+        windowTable.setModel(model);
+    }
 }